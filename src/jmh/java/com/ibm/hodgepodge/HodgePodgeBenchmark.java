@@ -0,0 +1,254 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmarks for the HodgePodge conversions, one per overload.
+ *
+ * Build with <code>mvn -P benchmarks package</code> and run either
+ * <code>java -jar target/benchmarks.jar -prof gc</code> or this class's main
+ * method, which always attaches the GC profiler so that allocation rates
+ * (gc.alloc.rate.norm) are reported next to the timings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HodgePodgeBenchmark {
+
+  private Date date;
+  private Calendar calendar;
+  private Instant instant;
+  private ZonedDateTime zonedDateTime;
+  private LocalDate localDate;
+  private LocalTime localTime;
+  private LocalDateTime localDateTime;
+  private TimeZone timeZone;
+  private ZoneId zoneId;
+
+  @Setup
+  public void setup () {
+    this.instant = Instant.parse("2018-10-10T05:10:09.123Z");
+    this.date = Date.from(this.instant);
+    this.zoneId = ZoneId.of("America/Chicago");
+    this.timeZone = TimeZone.getTimeZone(this.zoneId);
+    this.zonedDateTime = this.instant.atZone(this.zoneId);
+    this.calendar = GregorianCalendar.from(this.zonedDateTime);
+    this.localDateTime = this.zonedDateTime.toLocalDateTime();
+    this.localDate = this.localDateTime.toLocalDate();
+    this.localTime = this.localDateTime.toLocalTime();
+  }
+
+  // toDate
+
+  @Benchmark
+  public Date toDateFromCalendar () {
+    return HodgePodge.toDate(this.calendar);
+  }
+
+  @Benchmark
+  public Date toDateFromInstant () {
+    return HodgePodge.toDate(this.instant);
+  }
+
+  @Benchmark
+  public Date toDateFromZonedDateTime () {
+    return HodgePodge.toDate(this.zonedDateTime);
+  }
+
+  @Benchmark
+  public Date toDateFromLocalDate () {
+    return HodgePodge.toDate(this.localDate);
+  }
+
+  @Benchmark
+  public Date toDateFromLocalTimeOnDate () {
+    return HodgePodge.toDate(this.localTime, this.localDate);
+  }
+
+  @Benchmark
+  public Date toDateFromLocalTime () {
+    return HodgePodge.toDate(this.localTime);
+  }
+
+  @Benchmark
+  public Date toDateFromLocalDateTime () {
+    return HodgePodge.toDate(this.localDateTime);
+  }
+
+  // toCalendar
+
+  @Benchmark
+  public Calendar toCalendarFromDate () {
+    return HodgePodge.toCalendar(this.date);
+  }
+
+  @Benchmark
+  public Calendar toCalendarFromDateAndTimeZone () {
+    return HodgePodge.toCalendar(this.date, this.timeZone);
+  }
+
+  @Benchmark
+  public Calendar toCalendarFromInstant () {
+    return HodgePodge.toCalendar(this.instant);
+  }
+
+  @Benchmark
+  public Calendar toCalendarFromZonedDateTime () {
+    return HodgePodge.toCalendar(this.zonedDateTime);
+  }
+
+  @Benchmark
+  public Calendar toCalendarFromLocalDate () {
+    return HodgePodge.toCalendar(this.localDate);
+  }
+
+  @Benchmark
+  public Calendar toCalendarFromLocalTime () {
+    return HodgePodge.toCalendar(this.localTime);
+  }
+
+  @Benchmark
+  public Calendar toCalendarFromLocalDateTime () {
+    return HodgePodge.toCalendar(this.localDateTime);
+  }
+
+  @Benchmark
+  public Calendar toCalendarFromDateAndTimeZoneReused () {
+    return HodgePodge.toCalendar(this.date, this.timeZone, HodgePodge.threadCalendar());
+  }
+
+  @Benchmark
+  public Calendar toCalendarFromInstantReused () {
+    return HodgePodge.toCalendar(this.instant, HodgePodge.threadCalendar());
+  }
+
+  @Benchmark
+  public Calendar toCalendarFromLocalDateReused () {
+    return HodgePodge.toCalendar(this.localDate, HodgePodge.threadCalendar());
+  }
+
+  @Benchmark
+  public Calendar toCalendarFromLocalTimeReused () {
+    return HodgePodge.toCalendar(this.localTime, HodgePodge.threadCalendar());
+  }
+
+  // toInstant
+
+  @Benchmark
+  public Instant toInstantFromDate () {
+    return HodgePodge.toInstant(this.date);
+  }
+
+  @Benchmark
+  public Instant toInstantFromCalendar () {
+    return HodgePodge.toInstant(this.calendar);
+  }
+
+  @Benchmark
+  public Instant toInstantFromZonedDateTime () {
+    return HodgePodge.toInstant(this.zonedDateTime);
+  }
+
+  @Benchmark
+  public Instant toInstantFromLocalDateTime () {
+    return HodgePodge.toInstant(this.localDateTime, ZoneOffset.UTC);
+  }
+
+  // toZonedDateTime
+
+  @Benchmark
+  public ZonedDateTime toZonedDateTimeFromDate () {
+    return HodgePodge.toZonedDateTime(this.date);
+  }
+
+  @Benchmark
+  public ZonedDateTime toZonedDateTimeLocalFromDate () {
+    return HodgePodge.toZonedDateTimeLocal(this.date);
+  }
+
+  @Benchmark
+  public ZonedDateTime toZonedDateTimeFromCalendar () {
+    return HodgePodge.toZonedDateTime(this.calendar);
+  }
+
+  @Benchmark
+  public ZonedDateTime toZonedDateTimeFromInstantAndZone () {
+    return HodgePodge.toZonedDateTime(this.instant, this.zoneId);
+  }
+
+  @Benchmark
+  public ZonedDateTime toZonedDateTimeFromInstant () {
+    return HodgePodge.toZonedDateTime(this.instant);
+  }
+
+  // toLocalDate, toLocalTime, toLocalDateTime
+
+  @Benchmark
+  public LocalDate toLocalDateFromDate () {
+    return HodgePodge.toLocalDate(this.date);
+  }
+
+  @Benchmark
+  public LocalDate toLocalDateFromCalendar () {
+    return HodgePodge.toLocalDate(this.calendar);
+  }
+
+  @Benchmark
+  public LocalTime toLocalTimeFromDate () {
+    return HodgePodge.toLocalTime(this.date);
+  }
+
+  @Benchmark
+  public LocalTime toLocalTimeFromCalendar () {
+    return HodgePodge.toLocalTime(this.calendar);
+  }
+
+  @Benchmark
+  public LocalDateTime toLocalDateTimeFromDate () {
+    return HodgePodge.toLocalDateTime(this.date);
+  }
+
+  @Benchmark
+  public LocalDateTime toLocalDateTimeFromCalendar () {
+    return HodgePodge.toLocalDateTime(this.calendar);
+  }
+
+  public static void main (final String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(HodgePodgeBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(opt).run();
+  }
+
+}
@@ -0,0 +1,389 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lotus.domino.DateTime;
+import lotus.domino.NotesException;
+import lotus.domino.Session;
+
+/**
+ * Runs XHodgePodge conversions in the background, returning
+ * CompletableFutures, so that threads serving requests needn't block on the
+ * network round trips to a remote (NCSO) session:
+ *
+ * <pre>
+ * AsyncXHodgePodge async = new AsyncXHodgePodge(8, 1024);
+ * CompletableFuture&lt;OffsetDateTime&gt; modified = async.toOffsetDateTime(session, ndt);
+ * CompletableFuture&lt;OffsetDateTime[]&gt; dates = async.toOffsetDateTimes(session, ndts);
+ * </pre>
+ *
+ * Conversions run on a bounded pool of threads with a bounded queue. When
+ * the queue is full, the submitting thread runs a conversion itself -- its
+ * own, or the one at the head of its Session's queue, never more than one per
+ * submission -- which slows submitters down to the rate the pool can keep up
+ * with rather than failing or queueing without limit. Any conversions left
+ * waiting are picked up by the next pool thread to become free.
+ * Alternatively, pass your own Executor.
+ *
+ * By default, the conversions for each Session run one at a time, in the
+ * order they were submitted, since Domino objects belonging to a Session
+ * aren't safe to use from several threads at once. Conversions for different
+ * Sessions run in parallel. Many conversions can be submitted at once; they
+ * queue up behind each other without the submitter waiting. Every method
+ * takes the Session explicitly, so nothing is called on a Domino object
+ * outside its Session's turn. The bulk methods use DateTimeBatch, so they
+ * make fewer round trips than converting each value separately.
+ *
+ * Local (non-NCSO) sessions need every thread that uses them to be
+ * initialized as a NotesThread, so for those, pass an Executor whose threads
+ * are.
+ *
+ * The futures fail with the NotesException or other exception the
+ * conversion threw. Once closed, new conversions fail with
+ * RejectedExecutionException, but those already submitted are completed.
+ */
+public class AsyncXHodgePodge implements AutoCloseable {
+
+  /**
+   * The default number of threads.
+   */
+  public static final int DEFAULT_THREADS = 4;
+
+  /**
+   * The default number of conversions which can wait for a thread before
+   * submitters have to run them themselves.
+   */
+  public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+  /**
+   * A conversion to run in the background.
+   * @param <T> the type of the result
+   */
+  @FunctionalInterface
+  public interface Task<T> {
+    /**
+     * Runs the conversion.
+     * @return the result
+     * @throws NotesException
+     */
+    T call() throws NotesException;
+  }
+
+  private static final AtomicInteger poolNumber = new AtomicInteger();
+
+  private final Executor executor;
+  private final ExecutorService owned;
+  private final boolean serializeSessions;
+
+  // The serial executor for each Session, dropped once the Session is garbage collected
+  private final Map<Session, SerialExecutor> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+  // Serial executors whose conversions are waiting for a free thread
+  private final Queue<SerialExecutor> stalled = new ConcurrentLinkedQueue<>();
+
+  private volatile boolean closed;
+
+  /**
+   * Creates a converter with the default number of threads and queue size.
+   */
+  public AsyncXHodgePodge() {
+    this(DEFAULT_THREADS, DEFAULT_QUEUE_SIZE);
+  }
+
+  /**
+   * Creates a converter with its own pool of daemon threads, which close()
+   * shuts down. Idle threads are stopped after a minute.
+   * @param threads the maximum number of threads
+   * @param queueSize the number of conversions which can wait for a thread
+   */
+  public AsyncXHodgePodge(final int threads, final int queueSize) {
+    if (threads < 1 || queueSize < 1) {
+      throw new IllegalArgumentException("Threads and queue size must be positive: " + threads + ", " + queueSize);
+    }
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueSize), threadFactory(), (task, e) -> {
+          // As per CallerRunsPolicy, except that after shutdown the task is
+          // refused rather than silently dropped
+          if (e.isShutdown()) {
+            throw new RejectedExecutionException("AsyncXHodgePodge is closed");
+          }
+          task.run();
+        });
+    pool.allowCoreThreadTimeOut(true);
+    this.executor = pool;
+    this.owned = pool;
+    this.serializeSessions = true;
+  }
+
+  /**
+   * Creates a converter which runs conversions on the specified Executor.
+   * close() doesn't shut the Executor down.
+   * @param executor the Executor to run conversions on
+   * @param serializeSessions true to run each Session's conversions one at a time, in order
+   */
+  public AsyncXHodgePodge(final Executor executor, final boolean serializeSessions) {
+    this.executor = executor;
+    this.owned = null;
+    this.serializeSessions = serializeSessions;
+  }
+
+  private AsyncXHodgePodge(final ExecutorService owned) {
+    this.executor = owned;
+    this.owned = owned;
+    this.serializeSessions = true;
+  }
+
+  /**
+   * Returns true if virtual threads are available, which needs Java 21 or
+   * later.
+   * @return
+   */
+  public static boolean hasVirtualThreads() {
+    ExecutorService vt = Platform.newVirtualThreadExecutor();
+    if (vt == null) {
+      return false;
+    }
+    vt.shutdown();
+    return true;
+  }
+
+  /**
+   * Creates a converter which runs each conversion on its own virtual thread,
+   * so that any number of blocking remote calls can be in flight without
+   * tying up platform threads. Each Session's conversions still run one at a
+   * time, in order. close() shuts the threads down. Needs Java 21 or later.
+   * @return
+   * @throws UnsupportedOperationException if virtual threads aren't available
+   */
+  public static AsyncXHodgePodge withVirtualThreads() {
+    ExecutorService vt = Platform.newVirtualThreadExecutor();
+    if (vt == null) {
+      throw new UnsupportedOperationException("Virtual threads need Java 21 or later");
+    }
+    return new AsyncXHodgePodge(vt);
+  }
+
+  private static ThreadFactory threadFactory() {
+    int pool = poolNumber.incrementAndGet();
+    AtomicInteger thread = new AtomicInteger();
+    return r -> {
+      Thread t = new Thread(r, "AsyncXHodgePodge-" + pool + "-" + thread.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    };
+  }
+
+  private Executor executorFor(final Session session) {
+    if (!this.serializeSessions || session == null) {
+      return this.executor;
+    }
+    synchronized (this.sessions) {
+      return this.sessions.computeIfAbsent(session, s -> new SerialExecutor(this.executor, this.stalled));
+    }
+  }
+
+  /**
+   * Runs a conversion in the background, after any conversions already
+   * submitted for the same Session.
+   * @param session the Session the conversion's Domino objects belong to, or null if none
+   * @param task the conversion
+   * @return a future for the result
+   */
+  public <T> CompletableFuture<T> submit(final Session session, final Task<T> task) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    if (this.closed) {
+      future.completeExceptionally(new RejectedExecutionException("AsyncXHodgePodge is closed"));
+      return future;
+    }
+    Runnable run = () -> {
+      // Skip conversions which have been cancelled while waiting
+      if (future.isDone()) {
+        return;
+      }
+      try {
+        future.complete(task.call());
+      } catch (Throwable ex) {
+        future.completeExceptionally(ex);
+      }
+    };
+    try {
+      Executor serial = this.executorFor(session);
+      if (serial == this.executor) {
+        serial.execute(this.pooled(run));
+      } else {
+        serial.execute(run);
+      }
+    } catch (RejectedExecutionException ex) {
+      future.completeExceptionally(ex);
+    }
+    return future;
+  }
+
+  // Wraps a conversion which isn't serialized, so that when it's run by a pool
+  // thread, the thread goes on to resume any stalled Sessions
+  private Runnable pooled(final Runnable run) {
+    final Thread submitter = Thread.currentThread();
+    return () -> {
+      run.run();
+      if (Thread.currentThread() != submitter) {
+        SerialExecutor.resumeStalled(this.stalled);
+      }
+    };
+  }
+
+  /**
+   * Converts a DateTime to an OffsetDateTime, as per XHodgePodge.toOffsetDateTime.
+   * @param session the Session the DateTime belongs to
+   * @param ndt the Domino DateTime to convert
+   * @return
+   */
+  public CompletableFuture<OffsetDateTime> toOffsetDateTime(final Session session, final DateTime ndt) {
+    return this.submit(session, () -> XHodgePodge.toOffsetDateTime(ndt));
+  }
+
+  /**
+   * Converts a DateTime to a ZonedDateTime, as per XHodgePodge.toZonedDateTime.
+   * @param session the Session the DateTime belongs to
+   * @param ndt the Domino DateTime to convert
+   * @param notesTimeZone the Notes time zone field value
+   * @return
+   */
+  public CompletableFuture<ZonedDateTime> toZonedDateTime(final Session session, final DateTime ndt,
+      final String notesTimeZone) {
+    return this.submit(session, () -> XHodgePodge.toZonedDateTime(ndt, notesTimeZone));
+  }
+
+  /**
+   * Converts a DateTime to an Instant, as per XHodgePodge.toInstant.
+   * @param session the Session the DateTime belongs to
+   * @param ndt the Domino DateTime to convert
+   * @return
+   */
+  public CompletableFuture<Instant> toInstant(final Session session, final DateTime ndt) {
+    return this.submit(session, () -> XHodgePodge.toInstant(ndt));
+  }
+
+  /**
+   * Converts a DateTime to a LocalDateTime, as per XHodgePodge.toLocalDateTime.
+   * @param session the Session the DateTime belongs to
+   * @param ndt the Domino DateTime to convert
+   * @return
+   */
+  public CompletableFuture<LocalDateTime> toLocalDateTime(final Session session, final DateTime ndt) {
+    return this.submit(session, () -> XHodgePodge.toLocalDateTime(ndt));
+  }
+
+  /**
+   * Creates a DateTime from an Instant, as per XHodgePodge.toDateTime.
+   * @param session a Session to use to create the DateTime object
+   * @param ins the Instant to convert
+   * @return
+   */
+  public CompletableFuture<DateTime> toDateTime(final Session session, final Instant ins) {
+    return this.submit(session, () -> XHodgePodge.toDateTime(session, ins));
+  }
+
+  /**
+   * Creates a DateTime from a ZonedDateTime, as per XHodgePodge.toDateTime.
+   * @param session a Session to use to create the DateTime object
+   * @param zdt the ZonedDateTime to convert
+   * @return
+   */
+  public CompletableFuture<DateTime> toDateTime(final Session session, final ZonedDateTime zdt) {
+    return this.submit(session, () -> XHodgePodge.toDateTime(session, zdt));
+  }
+
+  /**
+   * Converts a list of DateTimes belonging to a Session to OffsetDateTimes,
+   * as per DateTimeBatch.toOffsetDateTimes.
+   * @param session the Session the DateTimes belong to
+   * @param values the DateTimes to convert; nulls are allowed
+   * @return
+   */
+  public CompletableFuture<OffsetDateTime[]> toOffsetDateTimes(final Session session,
+      final List<? extends DateTime> values) {
+    return this.submit(session, () -> new DateTimeBatch(session).toOffsetDateTimes(values));
+  }
+
+  /**
+   * Converts a list of DateTimes belonging to a Session to Instants, as per
+   * DateTimeBatch.toInstants.
+   * @param session the Session the DateTimes belong to
+   * @param values the DateTimes to convert; nulls are allowed
+   * @return
+   */
+  public CompletableFuture<Instant[]> toInstants(final Session session, final List<? extends DateTime> values) {
+    return this.submit(session, () -> new DateTimeBatch(session).toInstants(values));
+  }
+
+  /**
+   * Converts a list of DateTimes belonging to a Session to LocalDateTimes,
+   * as per DateTimeBatch.toLocalDateTimes.
+   * @param session the Session the DateTimes belong to
+   * @param values the DateTimes to convert; nulls are allowed
+   * @return
+   */
+  public CompletableFuture<LocalDateTime[]> toLocalDateTimes(final Session session,
+      final List<? extends DateTime> values) {
+    return this.submit(session, () -> new DateTimeBatch(session).toLocalDateTimes(values));
+  }
+
+  /**
+   * Forgets a Session, for example when it's about to be recycled. Sessions
+   * are forgotten anyway once they're garbage collected. A Session with
+   * conversions still waiting or running isn't forgotten, since a later
+   * conversion could then overlap them.
+   * @param session the Session
+   * @return true if the Session was forgotten, or wasn't known
+   */
+  public boolean forget(final Session session) {
+    synchronized (this.sessions) {
+      SerialExecutor serial = this.sessions.get(session);
+      if (serial != null && !serial.isIdle()) {
+        return false;
+      }
+      this.sessions.remove(session);
+      return true;
+    }
+  }
+
+  /**
+   * Returns true if close() has been called.
+   * @return
+   */
+  public boolean isClosed() {
+    return this.closed;
+  }
+
+  /**
+   * Stops accepting new conversions, and if the converter created its own
+   * threads, shuts them down once the conversions already submitted have
+   * completed. Doesn't wait for them.
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    if (this.owned != null) {
+      this.owned.shutdown();
+    }
+  }
+
+}
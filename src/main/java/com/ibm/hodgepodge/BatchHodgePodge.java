@@ -0,0 +1,225 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Column-at-a-time versions of the HodgePodge conversions, for when you have
+ * a whole array of values to convert -- for example, a column of Dates from
+ * JDBC or of epoch milliseconds from a log file.
+ *
+ * Every method writes its results into a caller-supplied output array, which
+ * must be at least as long as the input array; element i of the input is
+ * converted into element i of the output. Null elements of object arrays are
+ * converted to null, except where the output is a primitive array, in which
+ * case they cause a NullPointerException.
+ *
+ * Where a time zone is needed, its rules are looked up once per batch, and
+ * the offset is only recomputed when a value falls outside the period between
+ * the two transitions surrounding the previous value. Sorted or clustered
+ * input therefore costs almost nothing extra for zones with DST.
+ */
+public class BatchHodgePodge {
+
+  private static final long MILLIS_PER_DAY = 86400000L;
+
+  private static void checkLength (final int inlen, final int outlen) {
+    if (outlen < inlen) {
+      throw new IllegalArgumentException("Output array has length " + outlen + ", need at least " + inlen);
+    }
+  }
+
+  /**
+   * Converts an array of Dates to epoch milliseconds.
+   * @param in the Dates to convert; must not contain nulls
+   * @param out the array to receive the epoch milliseconds
+   */
+  public final static void toEpochMillis (final Date[] in, final long[] out) {
+    checkLength(in.length, out.length);
+    for (int i = 0; i < in.length; i++) {
+      out[i] = in[i].getTime();
+    }
+  }
+
+  /**
+   * Converts an array of Calendars to epoch milliseconds.
+   * @param in the Calendars to convert; must not contain nulls
+   * @param out the array to receive the epoch milliseconds
+   */
+  public final static void toEpochMillis (final Calendar[] in, final long[] out) {
+    checkLength(in.length, out.length);
+    for (int i = 0; i < in.length; i++) {
+      out[i] = in[i].getTimeInMillis();
+    }
+  }
+
+  /**
+   * Converts an array of Instants to epoch milliseconds.
+   * @param in the Instants to convert; must not contain nulls
+   * @param out the array to receive the epoch milliseconds
+   */
+  public final static void toEpochMillis (final Instant[] in, final long[] out) {
+    checkLength(in.length, out.length);
+    for (int i = 0; i < in.length; i++) {
+      out[i] = in[i].toEpochMilli();
+    }
+  }
+
+  /**
+   * Converts an array of Dates to Instants.
+   * @param in the Dates to convert
+   * @param out the array to receive the Instants
+   */
+  public final static void toInstants (final Date[] in, final Instant[] out) {
+    checkLength(in.length, out.length);
+    for (int i = 0; i < in.length; i++) {
+      Date d = in[i];
+      out[i] = d == null ? null : Instant.ofEpochMilli(d.getTime());
+    }
+  }
+
+  /**
+   * Converts an array of Calendars to Instants.
+   * @param in the Calendars to convert
+   * @param out the array to receive the Instants
+   */
+  public final static void toInstants (final Calendar[] in, final Instant[] out) {
+    checkLength(in.length, out.length);
+    for (int i = 0; i < in.length; i++) {
+      Calendar cal = in[i];
+      out[i] = cal == null ? null : Instant.ofEpochMilli(cal.getTimeInMillis());
+    }
+  }
+
+  /**
+   * Converts an array of epoch milliseconds to Instants.
+   * @param millis the epoch milliseconds to convert
+   * @param out the array to receive the Instants
+   */
+  public final static void toInstants (final long[] millis, final Instant[] out) {
+    checkLength(millis.length, out.length);
+    for (int i = 0; i < millis.length; i++) {
+      out[i] = Instant.ofEpochMilli(millis[i]);
+    }
+  }
+
+  /**
+   * Converts an array of Instants to Dates.
+   * @param in the Instants to convert
+   * @param out the array to receive the Dates
+   */
+  public final static void toDates (final Instant[] in, final Date[] out) {
+    checkLength(in.length, out.length);
+    for (int i = 0; i < in.length; i++) {
+      Instant ins = in[i];
+      out[i] = ins == null ? null : new Date(ins.toEpochMilli());
+    }
+  }
+
+  /**
+   * Converts an array of epoch milliseconds to Dates.
+   * @param millis the epoch milliseconds to convert
+   * @param out the array to receive the Dates
+   */
+  public final static void toDates (final long[] millis, final Date[] out) {
+    checkLength(millis.length, out.length);
+    for (int i = 0; i < millis.length; i++) {
+      out[i] = new Date(millis[i]);
+    }
+  }
+
+  /**
+   * Converts an array of epoch milliseconds to the LocalDates they fall on
+   * in the specified time zone.
+   * @param millis the epoch milliseconds to convert
+   * @param zone the time zone you want the answers in
+   * @param out the array to receive the LocalDates
+   */
+  public final static void toLocalDates (final long[] millis, final ZoneId zone, final LocalDate[] out) {
+    checkLength(millis.length, out.length);
+    ZoneOffsetWindow window = new ZoneOffsetWindow(zone);
+    for (int i = 0; i < millis.length; i++) {
+      long m = millis[i];
+      out[i] = LocalDate.ofEpochDay(Math.floorDiv(m + window.offsetMillis(m), MILLIS_PER_DAY));
+    }
+  }
+
+  /**
+   * Converts an array of Dates to the LocalDates they fall on in the
+   * specified time zone.
+   * @param in the Dates to convert
+   * @param zone the time zone you want the answers in
+   * @param out the array to receive the LocalDates
+   */
+  public final static void toLocalDates (final Date[] in, final ZoneId zone, final LocalDate[] out) {
+    checkLength(in.length, out.length);
+    ZoneOffsetWindow window = new ZoneOffsetWindow(zone);
+    for (int i = 0; i < in.length; i++) {
+      Date d = in[i];
+      if (d == null) {
+        out[i] = null;
+      } else {
+        long m = d.getTime();
+        out[i] = LocalDate.ofEpochDay(Math.floorDiv(m + window.offsetMillis(m), MILLIS_PER_DAY));
+      }
+    }
+  }
+
+  /**
+   * Converts an array of epoch milliseconds to LocalDateTimes in the
+   * specified time zone.
+   * @param millis the epoch milliseconds to convert
+   * @param zone the time zone you want the answers in
+   * @param out the array to receive the LocalDateTimes
+   */
+  public final static void toLocalDateTimes (final long[] millis, final ZoneId zone, final LocalDateTime[] out) {
+    checkLength(millis.length, out.length);
+    ZoneOffsetWindow window = new ZoneOffsetWindow(zone);
+    for (int i = 0; i < millis.length; i++) {
+      long m = millis[i];
+      out[i] = EpochHodgePodge.toLocalDateTime(m + window.offsetMillis(m));
+    }
+  }
+
+  /**
+   * Converts an array of Dates to LocalDateTimes in the specified time zone.
+   * @param in the Dates to convert
+   * @param zone the time zone you want the answers in
+   * @param out the array to receive the LocalDateTimes
+   */
+  public final static void toLocalDateTimes (final Date[] in, final ZoneId zone, final LocalDateTime[] out) {
+    checkLength(in.length, out.length);
+    ZoneOffsetWindow window = new ZoneOffsetWindow(zone);
+    for (int i = 0; i < in.length; i++) {
+      Date d = in[i];
+      if (d == null) {
+        out[i] = null;
+      } else {
+        long m = d.getTime();
+        out[i] = EpochHodgePodge.toLocalDateTime(m + window.offsetMillis(m));
+      }
+    }
+  }
+
+  /**
+   * Converts an array of epoch milliseconds to OffsetDateTimes, with the
+   * offset which applied in the specified time zone at each instant.
+   * @param millis the epoch milliseconds to convert
+   * @param zone the time zone you want the answers in
+   * @param out the array to receive the OffsetDateTimes
+   */
+  public final static void toOffsetDateTimes (final long[] millis, final ZoneId zone, final OffsetDateTime[] out) {
+    checkLength(millis.length, out.length);
+    ZoneOffsetWindow window = new ZoneOffsetWindow(zone);
+    for (int i = 0; i < millis.length; i++) {
+      long m = millis[i];
+      out[i] = OffsetDateTime.of(EpochHodgePodge.toLocalDateTime(m + window.offsetMillis(m)), window.offset(m));
+    }
+  }
+
+}
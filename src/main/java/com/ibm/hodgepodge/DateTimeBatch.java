@@ -0,0 +1,584 @@
+package com.ibm.hodgepodge;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.Vector;
+
+import lotus.domino.Base;
+import lotus.domino.DateRange;
+import lotus.domino.DateTime;
+import lotus.domino.Document;
+import lotus.domino.Item;
+import lotus.domino.NotesException;
+import lotus.domino.Session;
+
+/**
+ * Converts many Domino DateTime values at once, for a single Session.
+ *
+ * With the remote (NCSO/DIIOP) API, every call on a DateTime or Document is a
+ * network round trip, so converting values one at a time with XHodgePodge
+ * costs one or two round trips per value. The Document methods here fetch all
+ * the values of an item as text in a single formula evaluation and parse
+ * them locally, so the cost is one round trip however many values there are.
+ * The List methods still have to ask each DateTime for its text, but make no
+ * more calls than necessary, and parseZoneTimes converts text you've already
+ * fetched (for example from a view column) without any calls at all.
+ *
+ * The read methods handle multi-value items which mix DateTimes and
+ * DateRanges, as returned by Item.getValueDateTimeArray(), producing a start
+ * and an end for every value.
+ *
+ * Going the other way, toDateTimes and toDateRanges create the values to
+ * write to an item, and recycle() recycles everything they created in one go.
+ *
+ * The number of calls made on Notes objects is counted, so you can see what
+ * a conversion cost; see getRemoteCalls.
+ *
+ * Not thread safe.
+ */
+public final class DateTimeBatch {
+
+  // Notes time zone for formulas which need the GMT time
+  private static final String UTC_ZONE = "Z=0$DO=0$ZX=0$ZN=UTC";
+
+  // Marks values which aren't Instants or Dates
+  private static final long NOT_INSTANT = Long.MIN_VALUE;
+
+  private final Session session;
+  private final NotesDateTimeLayout layout;
+  private long remoteCalls;
+
+  // Reused for every value written
+  private final Date date = new Date();
+  private final Date endDate = new Date();
+  private final GregorianCalendar calendar = HodgePodge.newIsoCalendar();
+
+  // Notes objects created for writing, for recycle()
+  private final Vector<Base> created = new Vector<>();
+
+  /**
+   * Creates a batch converter for values from the specified Session.
+   * @param session the Session the DateTime values and Documents belong to
+   * @throws NotesException
+   */
+  public DateTimeBatch(final Session session) throws NotesException {
+    this.session = session;
+    if (!XHodgePodge.hasFormatKey(session)) {
+      this.remoteCalls += XHodgePodge.FORMAT_KEY_CALLS;
+    }
+    this.layout = XHodgePodge.getLayout(XHodgePodge.getFormatKey(session));
+  }
+
+  /**
+   * Returns the number of calls made on Notes objects so far.
+   * @return
+   */
+  public long getRemoteCalls() {
+    return this.remoteCalls;
+  }
+
+  /**
+   * Resets the count of calls made on Notes objects to zero.
+   */
+  public void resetRemoteCalls() {
+    this.remoteCalls = 0;
+  }
+
+  /**
+   * Converts DateTimes to Instants, with one call per value.
+   * @param values the values to convert; null elements give null results
+   * @return
+   * @throws NotesException
+   */
+  public Instant[] toInstants(final List<? extends DateTime> values) throws NotesException {
+    Instant[] out = new Instant[values.size()];
+    int i = 0;
+    for (DateTime ndt : values) {
+      if (ndt != null) {
+        this.remoteCalls++;
+        out[i] = ndt.toJavaDate().toInstant();
+      }
+      i++;
+    }
+    return out;
+  }
+
+  /**
+   * Converts DateTimes to LocalDateTimes in their own time zones, as per
+   * XHodgePodge.toLocalDateTime, with one call per value.
+   * @param values the values to convert; null elements give null results
+   * @return
+   * @throws NotesException
+   */
+  public LocalDateTime[] toLocalDateTimes(final List<? extends DateTime> values) throws NotesException {
+    LocalDateTime[] out = new LocalDateTime[values.size()];
+    int i = 0;
+    for (DateTime ndt : values) {
+      if (ndt != null) {
+        this.remoteCalls++;
+        String s = ndt.getZoneTime();
+        out[i] = this.layout.parseLocalDateTime(s, 0, s.length());
+      }
+      i++;
+    }
+    return out;
+  }
+
+  /**
+   * Converts DateTimes to OffsetDateTimes, preserving their time zone offsets,
+   * as per XHodgePodge.toOffsetDateTime. Makes one call per value when the
+   * offset for the value's zone and year is already known, otherwise two.
+   * @param values the values to convert; null elements give null results
+   * @return
+   * @throws NotesException
+   */
+  public OffsetDateTime[] toOffsetDateTimes(final List<? extends DateTime> values) throws NotesException {
+    NotesOffsetCache offsets = XHodgePodge.getOffsetCache();
+    OffsetDateTime[] out = new OffsetDateTime[values.size()];
+    int i = 0;
+    for (DateTime ndt : values) {
+      if (ndt != null) {
+        this.remoteCalls++;
+        String zone = ndt.getZoneTime();
+        int len = zone.length();
+        long local = this.layout.parseLocalEpochSecond(zone, 0, len);
+        long key = NotesOffsetCache.key(zone, this.layout.zoneStart(zone, 0, len), len, local);
+        int offset = offsets.get(key);
+        if (offset == NotesOffsetCache.NO_OFFSET) {
+          this.remoteCalls++;
+          String gmt = ndt.getGMTTime();
+          offset = (int) (local - this.layout.parseLocalEpochSecond(gmt, 0, gmt.length()));
+          offsets.put(key, offset);
+        }
+        out[i] = XHodgePodge.toOffsetDateTime(local, offset);
+      }
+      i++;
+    }
+    return out;
+  }
+
+  /**
+   * Parses date and time text in the Session's format, such as the results of
+   * DateTime.getZoneTime() or a view column, to LocalDateTimes. Any time zone
+   * on the end of the text is ignored. Makes no calls.
+   * @param texts the text values, which are converted using toString; null or
+   *   empty values give null results
+   * @return
+   * @throws java.time.format.DateTimeParseException if a value can't be parsed
+   * @throws DateTimeException if a value is a date range
+   */
+  public LocalDateTime[] parseZoneTimes(final List<?> texts) {
+    LocalDateTime[] out = new LocalDateTime[texts.size()];
+    int i = 0;
+    for (Object o : texts) {
+      if (o != null) {
+        String s = o.toString();
+        if (!s.isEmpty()) {
+          out[i] = this.layout.parseLocalDateTime(checkNotRange(s), 0, s.length());
+        }
+      }
+      i++;
+    }
+    return out;
+  }
+
+  /**
+   * Converts all the values of a date/time item to LocalDateTimes in their
+   * own time zones, with a single call. Items holding date ranges aren't
+   * supported, since a range has no single value; use readZonedDateTimes(Item,
+   * String) for those.
+   * @param doc the Document
+   * @param itemName the name of the item
+   * @return
+   * @throws NotesException
+   * @throws DateTimeException if a value is a date range
+   */
+  public LocalDateTime[] toLocalDateTimes(final Document doc, final String itemName) throws NotesException {
+    return this.parseZoneTimes(this.evaluate("@Text(" + checkItemName(itemName) + ")", doc));
+  }
+
+  /**
+   * Converts all the values of a date/time item to OffsetDateTimes, preserving
+   * their time zone offsets, with a single call. The item's text is evaluated
+   * both in its own time zone and in UTC, and the results are combined as in
+   * XHodgePodge.toOffsetDateTime. Items holding date ranges aren't supported;
+   * use readInstants(Item) or readZonedDateTimes(Item, String) for those.
+   * @param doc the Document
+   * @param itemName the name of the item
+   * @return
+   * @throws NotesException
+   * @throws DateTimeException if a value is a date range
+   */
+  public OffsetDateTime[] toOffsetDateTimes(final Document doc, final String itemName) throws NotesException {
+    String item = checkItemName(itemName);
+    Vector<?> texts = this.evaluate("@Text(" + item + ") : @TimeToTextInZone(" + item + "; \"" + UTC_ZONE + "\")",
+        doc);
+    if ((texts.size() & 1) != 0) {
+      throw new DateTimeException("Unexpected result converting item " + itemName + ": " + texts);
+    }
+    int n = texts.size() / 2;
+    OffsetDateTime[] out = new OffsetDateTime[n];
+    for (int i = 0; i < n; i++) {
+      Object zone = texts.get(i);
+      Object gmt = texts.get(n + i);
+      if (zone == null || gmt == null || zone.toString().isEmpty()) {
+        continue;
+      }
+      String zs = checkNotRange(zone.toString());
+      String gs = gmt.toString();
+      long local = this.layout.parseLocalEpochSecond(zs, 0, zs.length());
+      out[i] = XHodgePodge.toOffsetDateTime(local,
+          (int) (local - this.layout.parseLocalEpochSecond(gs, 0, gs.length())));
+    }
+    return out;
+  }
+
+  /**
+   * Converts all the values of a date/time item to Instants, with a single call.
+   * Items holding date ranges aren't supported; use readInstants(Item) for
+   * those.
+   * @param doc the Document
+   * @param itemName the name of the item
+   * @return
+   * @throws NotesException
+   * @throws DateTimeException if a value is a date range
+   */
+  public Instant[] toInstants(final Document doc, final String itemName) throws NotesException {
+    OffsetDateTime[] odts = this.toOffsetDateTimes(doc, itemName);
+    Instant[] out = new Instant[odts.length];
+    for (int i = 0; i < odts.length; i++) {
+      out[i] = odts[i] == null ? null : odts[i].toInstant();
+    }
+    return out;
+  }
+
+  /**
+   * Reads all the values of a date/time item, as per readEpochMillis(List),
+   * with one extra call to fetch the values.
+   * @param item the item
+   * @return
+   * @throws NotesException
+   */
+  public long[] readEpochMillis(final Item item) throws NotesException {
+    return this.readEpochMillis(this.values(item));
+  }
+
+  /**
+   * Converts a mixture of DateTimes and DateRanges, such as the result of
+   * Item.getValueDateTimeArray(), to epoch milliseconds. The result holds a
+   * start and an end for each value, so it's twice as long as the list; for a
+   * DateTime, the start and end are the same. Makes one call per DateTime and
+   * four per DateRange.
+   * @param values the DateTime and DateRange values
+   * @return the start and end of each value, in pairs
+   * @throws NotesException
+   * @throws IllegalArgumentException if a value isn't a DateTime or DateRange
+   */
+  public long[] readEpochMillis(final List<?> values) throws NotesException {
+    long[] out = new long[values.size() * 2];
+    int i = 0;
+    for (Object o : values) {
+      if (o instanceof DateRange) {
+        DateRange dr = (DateRange) o;
+        this.remoteCalls += 2;
+        out[i] = this.epochMilli(dr.getStartDateTime());
+        out[i + 1] = this.epochMilli(dr.getEndDateTime());
+      } else {
+        out[i] = this.epochMilli(dateTime(o));
+        out[i + 1] = out[i];
+      }
+      i += 2;
+    }
+    return out;
+  }
+
+  /**
+   * Reads all the values of a date/time item, as per readInstants(List),
+   * with one extra call to fetch the values.
+   * @param item the item
+   * @return
+   * @throws NotesException
+   */
+  public Instant[] readInstants(final Item item) throws NotesException {
+    return this.readInstants(this.values(item));
+  }
+
+  /**
+   * Converts a mixture of DateTimes and DateRanges to Instants, in start and
+   * end pairs as per readEpochMillis(List).
+   * @param values the DateTime and DateRange values
+   * @return the start and end of each value, in pairs
+   * @throws NotesException
+   * @throws IllegalArgumentException if a value isn't a DateTime or DateRange
+   */
+  public Instant[] readInstants(final List<?> values) throws NotesException {
+    long[] millis = this.readEpochMillis(values);
+    Instant[] out = new Instant[millis.length];
+    for (int i = 0; i < millis.length; i++) {
+      // A DateTime's start and end can share one Instant
+      out[i] = (i & 1) != 0 && millis[i] == millis[i - 1] ? out[i - 1] : Instant.ofEpochMilli(millis[i]);
+    }
+    return out;
+  }
+
+  /**
+   * Reads all the values of a date/time item, as per readZonedDateTimes(List, String),
+   * with one extra call to fetch the values.
+   * @param item the item
+   * @param notesTimeZone the Notes time zone field value for the values
+   * @return
+   * @throws NotesException
+   */
+  public ZonedDateTime[] readZonedDateTimes(final Item item, final String notesTimeZone) throws NotesException {
+    return this.readZonedDateTimes(this.values(item), notesTimeZone);
+  }
+
+  /**
+   * Converts a mixture of DateTimes and DateRanges to ZonedDateTimes in the
+   * specified Notes time zone, in start and end pairs as per
+   * readEpochMillis(List). The time zone is resolved once for all the values,
+   * as per XHodgePodge.toZonedDateTime(DateTime, String). Makes one call per
+   * DateTime and four per DateRange.
+   * @param values the DateTime and DateRange values
+   * @param notesTimeZone the Notes time zone field value for the values
+   * @return the start and end of each value, in pairs
+   * @throws NotesException
+   * @throws IllegalArgumentException if a value isn't a DateTime or DateRange
+   * @throws DateTimeException if the time zone field can't be understood
+   */
+  public ZonedDateTime[] readZonedDateTimes(final List<?> values, final String notesTimeZone) throws NotesException {
+    ZoneId zid = NotesZoneCache.toZoneId(notesTimeZone);
+    ZoneRules rules = zid == null ? NotesZoneCache.getRules(notesTimeZone) : null;
+    if (zid == null && rules == null) {
+      throw new DateTimeException("Unknown Notes time zone " + notesTimeZone);
+    }
+    ZonedDateTime[] out = new ZonedDateTime[values.size() * 2];
+    int i = 0;
+    for (Object o : values) {
+      if (o instanceof DateRange) {
+        DateRange dr = (DateRange) o;
+        this.remoteCalls += 2;
+        out[i] = this.zonedDateTime(dr.getStartDateTime(), zid, rules);
+        out[i + 1] = this.zonedDateTime(dr.getEndDateTime(), zid, rules);
+      } else {
+        out[i] = this.zonedDateTime(dateTime(o), zid, rules);
+        out[i + 1] = out[i];
+      }
+      i += 2;
+    }
+    return out;
+  }
+
+  /**
+   * Creates DateTimes for a list of values, for example to pass to
+   * Document.replaceItemValue. The values can be Instants, Dates,
+   * ZonedDateTimes, OffsetDateTimes, LocalDateTimes (taken to be in the
+   * system default time zone), LocalDates (with the time wildcarded) and
+   * LocalTimes (with the date wildcarded), as for the XHodgePodge.toDateTime
+   * methods.
+   *
+   * One Date and one Calendar are reused for every value, so the only objects
+   * created per value are the DateTimes themselves, and the text of LocalDates
+   * and LocalTimes, which are passed to Domino in the session's International
+   * layout so that it wildcards the time or date itself. Each value takes one
+   * call. The DateTimes are remembered so that recycle() can recycle them.
+   * @param values the values to convert
+   * @return
+   * @throws NotesException
+   * @throws IllegalArgumentException if a value isn't one of the supported types
+   */
+  public Vector<DateTime> toDateTimes(final List<?> values) throws NotesException {
+    TimeZone local = ZoneCache.toTimeZone(ZoneCache.getSystemDefault());
+    Vector<DateTime> out = new Vector<>(values.size());
+    for (Object o : values) {
+      out.add(this.createDateTime(o, local));
+    }
+    return out;
+  }
+
+  /**
+   * Creates DateRanges from lists of start and end values, for example to
+   * pass to Document.replaceItemValue. The values can be any of the types
+   * toDateTimes accepts. Where both ends of a range are Instants or Dates,
+   * the range is created with a single call; otherwise, DateTimes are
+   * created for the ends first, which takes three or more. The DateRanges,
+   * and any DateTimes created for them, are remembered so that recycle() can
+   * recycle them.
+   * @param starts the start of each range
+   * @param ends the end of each range
+   * @return
+   * @throws NotesException
+   * @throws IllegalArgumentException if the lists are different sizes, or
+   *   a value isn't one of the supported types
+   */
+  public Vector<DateRange> toDateRanges(final List<?> starts, final List<?> ends) throws NotesException {
+    if (starts.size() != ends.size()) {
+      throw new IllegalArgumentException(starts.size() + " starts but " + ends.size() + " ends");
+    }
+    TimeZone local = ZoneCache.toTimeZone(ZoneCache.getSystemDefault());
+    Vector<DateRange> out = new Vector<>(starts.size());
+    Iterator<?> ei = ends.iterator();
+    for (Object start : starts) {
+      Object end = ei.next();
+      DateRange dr;
+      long startMillis = instantMillis(start);
+      long endMillis = instantMillis(end);
+      if (startMillis != NOT_INSTANT && endMillis != NOT_INSTANT) {
+        this.date.setTime(startMillis);
+        this.endDate.setTime(endMillis);
+        this.remoteCalls++;
+        dr = this.session.createDateRange(this.date, this.endDate);
+      } else {
+        DateTime s = this.createDateTime(start, local);
+        DateTime e = this.createDateTime(end, local);
+        this.remoteCalls++;
+        dr = this.session.createDateRange(s, e);
+      }
+      this.created.add(dr);
+      out.add(dr);
+    }
+    return out;
+  }
+
+  /**
+   * Replaces the value of an item with DateTimes or DateRanges, such as
+   * those from toDateTimes or toDateRanges, with one call.
+   * @param doc the Document
+   * @param itemName the name of the item
+   * @param values the values
+   * @return the Item
+   * @throws NotesException
+   */
+  public Item replaceItemValue(final Document doc, final String itemName, final Vector<?> values)
+      throws NotesException {
+    this.remoteCalls++;
+    return doc.replaceItemValue(itemName, values);
+  }
+
+  /**
+   * Recycles all the DateTimes and DateRanges created by this batch so far,
+   * with one call. Do this once they've been written to a Document.
+   * @throws NotesException
+   */
+  public void recycle() throws NotesException {
+    if (!this.created.isEmpty()) {
+      this.remoteCalls++;
+      this.session.recycle(this.created);
+      this.created.clear();
+    }
+  }
+
+  /**
+   * Returns the number of DateTimes and DateRanges created and not yet recycled.
+   * @return
+   */
+  public int getCreatedCount() {
+    return this.created.size();
+  }
+
+  // Returns epoch milliseconds for Instants and Dates, or NOT_INSTANT for anything else
+  private static long instantMillis(final Object o) {
+    if (o instanceof Instant) {
+      return ((Instant) o).toEpochMilli();
+    }
+    if (o instanceof Date) {
+      return ((Date) o).getTime();
+    }
+    return NOT_INSTANT;
+  }
+
+  private DateTime createDateTime(final Object o, final TimeZone local) throws NotesException {
+    DateTime ndt;
+    long millis = instantMillis(o);
+    if (millis != NOT_INSTANT) {
+      this.date.setTime(millis);
+      ndt = this.session.createDateTime(this.date);
+    } else if (o instanceof ZonedDateTime) {
+      ndt = this.session.createDateTime(HodgePodge.toCalendar((ZonedDateTime) o, this.calendar));
+    } else if (o instanceof OffsetDateTime) {
+      OffsetDateTime odt = (OffsetDateTime) o;
+      ZoneCache.setTimeZone(this.calendar, odt.getOffset());
+      this.calendar.setTimeInMillis(odt.toInstant().toEpochMilli());
+      ndt = this.session.createDateTime(this.calendar);
+    } else if (o instanceof LocalDateTime) {
+      this.calendar.setTimeZone(local);
+      ndt = this.session.createDateTime(HodgePodge.toCalendar((LocalDateTime) o, this.calendar));
+    } else if (o instanceof LocalDate) {
+      ndt = this.session.createDateTime(this.layout.formatDate((LocalDate) o));
+    } else if (o instanceof LocalTime) {
+      ndt = this.session.createDateTime(this.layout.formatTime((LocalTime) o));
+    } else {
+      throw new IllegalArgumentException("Can't convert " + (o == null ? "null" : o.getClass().getName())
+          + " to a DateTime");
+    }
+    this.remoteCalls++;
+    this.created.add(ndt);
+    return ndt;
+  }
+
+  private Vector<?> values(final Item item) throws NotesException {
+    this.remoteCalls++;
+    return item.getValueDateTimeArray();
+  }
+
+  private long epochMilli(final DateTime ndt) throws NotesException {
+    this.remoteCalls++;
+    return ndt.toJavaDate().getTime();
+  }
+
+  private ZonedDateTime zonedDateTime(final DateTime ndt, final ZoneId zid, final ZoneRules rules)
+      throws NotesException {
+    this.remoteCalls++;
+    String s = ndt.getZoneTime();
+    LocalDateTime ldt = this.layout.parseLocalDateTime(s, 0, s.length());
+    return zid != null ? ldt.atZone(zid) : NotesZoneRules.atZone(ldt, rules);
+  }
+
+  private static DateTime dateTime(final Object o) {
+    if (!(o instanceof DateTime)) {
+      throw new IllegalArgumentException("Not a DateTime or DateRange: " + o);
+    }
+    return (DateTime) o;
+  }
+
+  private Vector<?> evaluate(final String formula, final Document doc) throws NotesException {
+    this.remoteCalls++;
+    return this.session.evaluate(formula, doc);
+  }
+
+  // @Text gives "start - end" for a DateRange. The parser would stop at the
+  // end of the start and silently drop the end, so refuse ranges instead.
+  private static String checkNotRange(final String text) {
+    if (text.contains(" - ")) {
+      throw new DateTimeException("Date range " + text + " has no single value");
+    }
+    return text;
+  }
+
+  // Item names go into formulas, so only allow characters Notes allows in them
+  private static String checkItemName(final String itemName) {
+    if (itemName.isEmpty()) {
+      throw new IllegalArgumentException("Empty item name");
+    }
+    for (int i = 0; i < itemName.length(); i++) {
+      char ch = itemName.charAt(i);
+      if (!(Character.isLetterOrDigit(ch) || ch == '_' || ch == '$')) {
+        throw new IllegalArgumentException("Invalid item name " + itemName);
+      }
+    }
+    return itemName;
+  }
+
+}
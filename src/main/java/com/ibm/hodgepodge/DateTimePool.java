@@ -0,0 +1,255 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Vector;
+
+import lotus.domino.DateTime;
+import lotus.domino.NotesException;
+import lotus.domino.Session;
+
+/**
+ * A pool of Domino DateTime objects for a single Session, which reuses them
+ * rather than creating a new one for every conversion, and recycles them all
+ * when it's closed. Use it with try-with-resources:
+ *
+ * <pre>
+ * try (DateTimePool pool = new DateTimePool(session)) {
+ *   for (Instant ins : instants) {
+ *     DateTime ndt = pool.acquire(ins);
+ *     doc.replaceItemValue("When", ndt);
+ *     pool.release(ndt);
+ *   }
+ * }
+ * </pre>
+ *
+ * Released DateTimes are given new values with setLocalTime, setLocalDate
+ * and so on, which is much cheaper than creating a new one. DateTimes with a
+ * wildcarded date or time are kept apart from complete ones, and are only
+ * reused for values of the same kind, so wildcards never need to be set or
+ * cleared on a reused object.
+ *
+ * Every DateTime the pool creates belongs to the pool and is recycled by
+ * close(), whether or not it has been released, in a single call. Don't
+ * recycle them yourself, and don't use them after the pool is closed.
+ *
+ * Not thread safe.
+ */
+public final class DateTimePool implements AutoCloseable {
+
+  private final Session session;
+
+  // Released DateTimes, by kind
+  private final ArrayDeque<DateTime> complete = new ArrayDeque<>();
+  private final ArrayDeque<DateTime> anyTime = new ArrayDeque<>();
+  private final ArrayDeque<DateTime> anyDate = new ArrayDeque<>();
+
+  // Every DateTime the pool has created, for close()
+  private final Vector<DateTime> all = new Vector<>();
+
+  private final Date date = new Date();
+  private final GregorianCalendar calendar = HodgePodge.newIsoCalendar();
+  private int created;
+  private int reused;
+  private boolean closed;
+
+  /**
+   * Creates a pool for the specified Session.
+   * @param session the Session to create DateTimes with
+   */
+  public DateTimePool(final Session session) {
+    this.session = session;
+  }
+
+  /**
+   * Gets a DateTime set to an Instant, as per XHodgePodge.toDateTime(Session, Instant).
+   * @param ins the value
+   * @return
+   * @throws NotesException
+   */
+  public DateTime acquire(final Instant ins) throws NotesException {
+    return this.acquire(ins.toEpochMilli());
+  }
+
+  /**
+   * Gets a DateTime set to a Date, as per XHodgePodge.toDateTime(Session, Date).
+   * @param d the value
+   * @return
+   * @throws NotesException
+   */
+  public DateTime acquire(final Date d) throws NotesException {
+    return this.acquire(d.getTime());
+  }
+
+  private DateTime acquire(final long epochMilli) throws NotesException {
+    this.date.setTime(epochMilli);
+    DateTime ndt = this.take(this.complete);
+    if (ndt == null) {
+      return this.add(this.session.createDateTime(this.date));
+    }
+    ndt.setLocalTime(this.date);
+    return ndt;
+  }
+
+  /**
+   * Gets a DateTime set to a ZonedDateTime, as per XHodgePodge.toDateTime(Session, ZonedDateTime).
+   * @param zdt the value
+   * @return
+   * @throws NotesException
+   */
+  public DateTime acquire(final ZonedDateTime zdt) throws NotesException {
+    return this.acquire(HodgePodge.toCalendar(zdt, this.calendar));
+  }
+
+  /**
+   * Gets a DateTime set to a LocalDateTime in the system default time zone,
+   * as per XHodgePodge.toDateTime(Session, LocalDateTime).
+   * @param ldt the value
+   * @return
+   * @throws NotesException
+   */
+  public DateTime acquire(final LocalDateTime ldt) throws NotesException {
+    ZoneCache.setTimeZone(this.calendar, ZoneCache.getSystemDefault());
+    return this.acquire(HodgePodge.toCalendar(ldt, this.calendar));
+  }
+
+  private DateTime acquire(final Calendar cal) throws NotesException {
+    DateTime ndt = this.take(this.complete);
+    if (ndt == null) {
+      return this.add(this.session.createDateTime(cal));
+    }
+    ndt.setLocalTime(cal);
+    return ndt;
+  }
+
+  /**
+   * Gets a DateTime set to a LocalDate with the time wildcarded, as per
+   * XHodgePodge.toDateTime(Session, LocalDate).
+   * @param ld the value
+   * @return
+   * @throws NotesException
+   */
+  public DateTime acquire(final LocalDate ld) throws NotesException {
+    DateTime ndt = this.take(this.anyTime);
+    if (ndt == null) {
+      ndt = this.add(XHodgePodge.toDateTime(this.session, ld));
+    } else {
+      ndt.setLocalDate(ld.getYear(), ld.getMonthValue(), ld.getDayOfMonth());
+    }
+    return ndt;
+  }
+
+  /**
+   * Gets a DateTime set to a LocalTime with the date wildcarded, as per
+   * XHodgePodge.toDateTime(Session, LocalTime). Like that, it's truncated to
+   * the second, whether the DateTime is new or reused.
+   * @param lt the value
+   * @return
+   * @throws NotesException
+   */
+  public DateTime acquire(final LocalTime lt) throws NotesException {
+    DateTime ndt = this.take(this.anyDate);
+    if (ndt == null) {
+      ndt = this.add(XHodgePodge.toDateTime(this.session, lt));
+    } else {
+      ndt.setLocalTime(lt.getHour(), lt.getMinute(), lt.getSecond(), 0);
+    }
+    return ndt;
+  }
+
+  // Puts a DateTime on the free list for its kind, unless the pool is closed
+  private void release(final DateTime ndt, final ArrayDeque<DateTime> kind) {
+    if (!this.closed) {
+      kind.push(ndt);
+    }
+  }
+
+  /**
+   * Returns a DateTime with a complete date and time to the pool, so that it
+   * can be reused by a later acquire call. It must have come from acquire
+   * with an Instant, Date, ZonedDateTime or LocalDateTime.
+   * @param ndt the DateTime
+   */
+  public void release(final DateTime ndt) {
+    this.release(ndt, this.complete);
+  }
+
+  /**
+   * Returns a DateTime with a wildcarded time to the pool. It must have come
+   * from acquire with a LocalDate.
+   * @param ndt the DateTime
+   */
+  public void releaseDate(final DateTime ndt) {
+    this.release(ndt, this.anyTime);
+  }
+
+  /**
+   * Returns a DateTime with a wildcarded date to the pool. It must have come
+   * from acquire with a LocalTime.
+   * @param ndt the DateTime
+   */
+  public void releaseTime(final DateTime ndt) {
+    this.release(ndt, this.anyDate);
+  }
+
+  /**
+   * Returns the number of DateTimes the pool has created.
+   * @return
+   */
+  public int getCreatedCount() {
+    return this.created;
+  }
+
+  /**
+   * Returns the number of times a released DateTime has been reused.
+   * @return
+   */
+  public int getReusedCount() {
+    return this.reused;
+  }
+
+  /**
+   * Recycles every DateTime the pool has created, with a single call. The
+   * pool can't be used afterwards.
+   * @throws NotesException
+   */
+  @Override
+  public void close() throws NotesException {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    this.complete.clear();
+    this.anyTime.clear();
+    this.anyDate.clear();
+    if (!this.all.isEmpty()) {
+      this.session.recycle(this.all);
+      this.all.clear();
+    }
+  }
+
+  private DateTime take(final ArrayDeque<DateTime> kind) {
+    if (this.closed) {
+      throw new IllegalStateException("DateTimePool is closed");
+    }
+    DateTime ndt = kind.poll();
+    if (ndt != null) {
+      this.reused++;
+    }
+    return ndt;
+  }
+
+  private DateTime add(final DateTime ndt) {
+    this.created++;
+    this.all.add(ndt);
+    return ndt;
+  }
+
+}
@@ -0,0 +1,259 @@
+package com.ibm.hodgepodge;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Companion to HodgePodge which converts to and from primitive values:
+ * milliseconds since the epoch, days since the epoch (epoch day) and
+ * nanoseconds since midnight (nano-of-day).
+ *
+ * As with HodgePodge, all values are UTC. The conversions are done with
+ * integer arithmetic, so none of them create intermediate ZonedDateTime,
+ * Instant or Calendar objects; the only allocation is the result object, for
+ * the methods which return one.
+ *
+ * Arithmetic which would overflow a long throws an ArithmeticException, the
+ * same as Instant.toEpochMilli.
+ */
+public class EpochHodgePodge {
+
+  private static final long MILLIS_PER_DAY = 86400000L;
+  private static final long NANOS_PER_MILLI = 1000000L;
+  private static final long NANOS_PER_SECOND = 1000000000L;
+
+  // Days from 0000-03-01 to 1970-01-01 in the proleptic Gregorian calendar,
+  // as used by LocalDate.
+  private static final long DAYS_0000_TO_1970 = (146097L * 5L) - (30L * 365L + 7L);
+
+  /**
+   * Converts a Date to epoch milliseconds.
+   * @param d the Date to convert
+   * @return
+   */
+  public final static long toEpochMilli (final Date d) {
+    return d.getTime();
+  }
+
+  /**
+   * Converts a Calendar to epoch milliseconds.
+   * @param cal the Calendar to convert
+   * @return
+   */
+  public final static long toEpochMilli (final Calendar cal) {
+    return cal.getTimeInMillis();
+  }
+
+  /**
+   * Converts an Instant to epoch milliseconds. Any precision beyond
+   * milliseconds is discarded.
+   * @param ins the Instant to convert
+   * @return
+   */
+  public final static long toEpochMilli (final Instant ins) {
+    return ins.toEpochMilli();
+  }
+
+  /**
+   * Converts a ZonedDateTime to epoch milliseconds, without building an Instant.
+   * Any precision beyond milliseconds is discarded.
+   * @param zdt the ZonedDateTime to convert
+   * @return
+   */
+  public final static long toEpochMilli (final ZonedDateTime zdt) {
+    return Math.addExact(Math.multiplyExact(zdt.toEpochSecond(), 1000L), zdt.getNano() / NANOS_PER_MILLI);
+  }
+
+  /**
+   * Converts a LocalDate to the epoch milliseconds of the start of that day in UTC.
+   * @param ld the LocalDate to convert
+   * @return
+   */
+  public final static long toEpochMilli (final LocalDate ld) {
+    return Math.multiplyExact(ld.toEpochDay(), MILLIS_PER_DAY);
+  }
+
+  /**
+   * Converts a LocalDateTime, which is assumed to be UTC, to epoch milliseconds.
+   * @param ldt the LocalDateTime to convert
+   * @return
+   */
+  public final static long toEpochMilli (final LocalDateTime ldt) {
+    return toEpochMilli(ldt.toLocalDate().toEpochDay(), ldt.toLocalTime().toNanoOfDay());
+  }
+
+  /**
+   * Merges a LocalTime and a LocalDate into epoch milliseconds, assuming UTC.
+   * @param lt the LocalTime to convert
+   * @param ondate the LocalDate to merge it with
+   * @return
+   */
+  public final static long toEpochMilli (final LocalTime lt, final LocalDate ondate) {
+    return toEpochMilli(ondate.toEpochDay(), lt.toNanoOfDay());
+  }
+
+  /**
+   * Combines an epoch day and a nano-of-day into epoch milliseconds. Any
+   * precision beyond milliseconds is discarded.
+   * @param epochDay the number of days since 1970-01-01
+   * @param nanoOfDay the number of nanoseconds since midnight
+   * @return
+   */
+  public final static long toEpochMilli (final long epochDay, final long nanoOfDay) {
+    return Math.addExact(Math.multiplyExact(epochDay, MILLIS_PER_DAY), nanoOfDay / NANOS_PER_MILLI);
+  }
+
+  /**
+   * Converts epoch milliseconds to the epoch day (in UTC) they fall on.
+   * @param epochMilli milliseconds since 1970-01-01T00:00:00Z
+   * @return
+   */
+  public final static long toEpochDay (final long epochMilli) {
+    return Math.floorDiv(epochMilli, MILLIS_PER_DAY);
+  }
+
+  /**
+   * Converts a year, month and day to an epoch day.
+   * @param year the proleptic year
+   * @param month the month of the year, from 1 to 12
+   * @param day the day of the month, from 1 to 31
+   * @return
+   * @throws DateTimeException if the month or day is out of range
+   */
+  public final static long toEpochDay (final int year, final int month, final int day) {
+    if (month < 1 || month > 12) {
+      throw new DateTimeException("Invalid month: " + month);
+    }
+    if (day < 1 || day > lengthOfMonth(year, month)) {
+      throw new DateTimeException("Invalid day of month: " + year + "-" + month + "-" + day);
+    }
+    // Same algorithm as LocalDate.toEpochDay
+    long y = year;
+    long m = month;
+    long total = 365 * y;
+    if (y >= 0) {
+      total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+    } else {
+      total -= y / -4 - y / -100 + y / -400;
+    }
+    total += ((367 * m - 362) / 12);
+    total += day - 1;
+    if (m > 2) {
+      total--;
+      if (!isLeapYear(year)) {
+        total--;
+      }
+    }
+    return total - DAYS_0000_TO_1970;
+  }
+
+  /**
+   * Converts epoch milliseconds to the nano-of-day (in UTC) they fall on.
+   * @param epochMilli milliseconds since 1970-01-01T00:00:00Z
+   * @return
+   */
+  public final static long toNanoOfDay (final long epochMilli) {
+    return Math.floorMod(epochMilli, MILLIS_PER_DAY) * NANOS_PER_MILLI;
+  }
+
+  /**
+   * Converts hours, minutes, seconds and nanoseconds to a nano-of-day.
+   * @param hour the hour of the day, from 0 to 23
+   * @param minute the minute of the hour, from 0 to 59
+   * @param second the second of the minute, from 0 to 59
+   * @param nano the nanosecond of the second, from 0 to 999,999,999
+   * @return
+   * @throws DateTimeException if any field is out of range
+   */
+  public final static long toNanoOfDay (final int hour, final int minute, final int second, final int nano) {
+    if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+        || nano < 0 || nano >= NANOS_PER_SECOND) {
+      throw new DateTimeException("Invalid time: " + hour + ":" + minute + ":" + second + "." + nano);
+    }
+    return ((hour * 3600L + minute * 60L + second) * NANOS_PER_SECOND) + nano;
+  }
+
+  /**
+   * Converts an epoch day to a date packed into an int as decimal digits
+   * yyyymmdd, so 2018-10-09 becomes 20181009. Years outside 0 to 9999 are
+   * not representable in that form, and result in a DateTimeException.
+   * @param epochDay the number of days since 1970-01-01
+   * @return
+   */
+  public final static int toPackedDate (final long epochDay) {
+    // Same algorithm as LocalDate.ofEpochDay
+    long zeroDay = epochDay + DAYS_0000_TO_1970;
+    zeroDay -= 60;
+    long adjust = 0;
+    if (zeroDay < 0) {
+      long adjustCycles = (zeroDay + 1) / 146097 - 1;
+      adjust = adjustCycles * 400;
+      zeroDay += -adjustCycles * 146097;
+    }
+    long yearEst = (400 * zeroDay + 591) / 146097;
+    long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+    if (doyEst < 0) {
+      yearEst--;
+      doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+    }
+    yearEst += adjust;
+    int marchDoy0 = (int) doyEst;
+    int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+    int month = (marchMonth0 + 2) % 12 + 1;
+    int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+    yearEst += marchMonth0 / 10;
+    if (yearEst < 0 || yearEst > 9999) {
+      throw new DateTimeException("Year out of range for packed date: " + yearEst);
+    }
+    return (int) yearEst * 10000 + month * 100 + dom;
+  }
+
+  /**
+   * Converts epoch milliseconds to a LocalDate in UTC.
+   * @param epochMilli milliseconds since 1970-01-01T00:00:00Z
+   * @return
+   */
+  public final static LocalDate toLocalDate (final long epochMilli) {
+    return LocalDate.ofEpochDay(toEpochDay(epochMilli));
+  }
+
+  /**
+   * Converts epoch milliseconds to a LocalTime in UTC.
+   * @param epochMilli milliseconds since 1970-01-01T00:00:00Z
+   * @return
+   */
+  public final static LocalTime toLocalTime (final long epochMilli) {
+    return LocalTime.ofNanoOfDay(toNanoOfDay(epochMilli));
+  }
+
+  /**
+   * Converts epoch milliseconds to a LocalDateTime in UTC.
+   * @param epochMilli milliseconds since 1970-01-01T00:00:00Z
+   * @return
+   */
+  public final static LocalDateTime toLocalDateTime (final long epochMilli) {
+    return LocalDateTime.of(toLocalDate(epochMilli), toLocalTime(epochMilli));
+  }
+
+  private static boolean isLeapYear (final long year) {
+    return ((year & 3) == 0) && ((year % 100) != 0 || (year % 400) == 0);
+  }
+
+  private static int lengthOfMonth (final int year, final int month) {
+    switch (month) {
+      case 2: return isLeapYear(year) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11: return 30;
+      default: return 31;
+    }
+  }
+
+}
@@ -0,0 +1,232 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed UTC offsets for a time zone over a window of years, so that
+ * finding the offset at an instant costs an array lookup rather than a
+ * ZoneRules search.
+ *
+ * For each day in the window there's a one-byte entry. If no transition
+ * happens during that UTC day, the entry is an index into the (small) table
+ * of distinct offsets the zone uses, and that's the answer. Days with a
+ * transition, of which there are typically two a year, are marked, and fall
+ * back to a binary search of the transitions in the window. Instants outside
+ * the window are passed to the ZoneRules.
+ *
+ * Zones are registered once, and then looked up with FastZone.of; the
+ * HodgePodge conversions to and from the system default time zone use the
+ * registered FastZone when there is one. A FastZone takes one byte per day,
+ * so about 36KB for the default window of 1970 to 2069.
+ *
+ * FastZones are immutable and thread safe.
+ */
+public final class FastZone {
+
+  /**
+   * The first year of the window used by register(ZoneId).
+   */
+  public static final int DEFAULT_FROM_YEAR = 1970;
+
+  /**
+   * The last year of the window used by register(ZoneId).
+   */
+  public static final int DEFAULT_TO_YEAR = 2069;
+
+  private static final long SECONDS_PER_DAY = 86400L;
+  private static final byte TRANSITION_DAY = -1;
+
+  private static final ConcurrentHashMap<ZoneId, FastZone> registry = new ConcurrentHashMap<>();
+
+  private final ZoneId zone;
+  private final ZoneRules rules;
+  private final long firstDay;
+  private final byte[] dayOffsets;
+  private final int[] offsetSeconds;
+  private final ZoneOffset[] offsets;
+  // Transitions within the window, plus the offset after each
+  private final long[] transitionSeconds;
+  private final byte[] transitionOffsets;
+  // The offset in effect at the start of the window
+  private final byte initialOffset;
+
+  private FastZone(final ZoneId zone, final int fromYear, final int toYear) {
+    if (toYear < fromYear) {
+      throw new IllegalArgumentException("Invalid window: " + fromYear + " to " + toYear);
+    }
+    this.zone = zone;
+    this.rules = zone.getRules();
+    // The window is in UTC days, one day wider than the years on each side
+    // so that local dates at the edges are covered
+    this.firstDay = EpochHodgePodge.toEpochDay(fromYear, 1, 1) - 1;
+    long lastDay = EpochHodgePodge.toEpochDay(toYear, 12, 31) + 1;
+    int days = (int) (lastDay - this.firstDay + 1);
+    long startSecond = this.firstDay * SECONDS_PER_DAY;
+    long endSecond = (lastDay + 1) * SECONDS_PER_DAY;
+
+    List<ZoneOffset> distinct = new ArrayList<>();
+    List<ZoneOffsetTransition> transitions = new ArrayList<>();
+    ZoneOffset initial = this.rules.getOffset(Instant.ofEpochSecond(startSecond));
+    distinct.add(initial);
+    ZoneOffsetTransition trans = this.rules.nextTransition(Instant.ofEpochSecond(startSecond));
+    while (trans != null && trans.toEpochSecond() < endSecond) {
+      transitions.add(trans);
+      if (!distinct.contains(trans.getOffsetAfter())) {
+        distinct.add(trans.getOffsetAfter());
+      }
+      trans = this.rules.nextTransition(trans.getInstant());
+    }
+    if (distinct.size() > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Too many distinct offsets in " + zone);
+    }
+    this.offsets = distinct.toArray(new ZoneOffset[distinct.size()]);
+    this.offsetSeconds = new int[this.offsets.length];
+    for (int i = 0; i < this.offsets.length; i++) {
+      this.offsetSeconds[i] = this.offsets[i].getTotalSeconds();
+    }
+    this.initialOffset = 0;
+    this.transitionSeconds = new long[transitions.size()];
+    this.transitionOffsets = new byte[transitions.size()];
+    for (int i = 0; i < transitions.size(); i++) {
+      this.transitionSeconds[i] = transitions.get(i).toEpochSecond();
+      this.transitionOffsets[i] = (byte) distinct.indexOf(transitions.get(i).getOffsetAfter());
+    }
+
+    this.dayOffsets = new byte[days];
+    byte current = this.initialOffset;
+    int t = 0;
+    for (int d = 0; d < days; d++) {
+      long dayEnd = (this.firstDay + d + 1) * SECONDS_PER_DAY;
+      if (t < this.transitionSeconds.length && this.transitionSeconds[t] < dayEnd) {
+        this.dayOffsets[d] = TRANSITION_DAY;
+        while (t < this.transitionSeconds.length && this.transitionSeconds[t] < dayEnd) {
+          current = this.transitionOffsets[t];
+          t++;
+        }
+      } else {
+        this.dayOffsets[d] = current;
+      }
+    }
+  }
+
+  /**
+   * Precomputes offsets for a zone over the default window of years, and
+   * registers the result so that FastZone.of will return it.
+   * @param zone the zone to register
+   * @return the registered FastZone
+   */
+  public static FastZone register(final ZoneId zone) {
+    return register(zone, DEFAULT_FROM_YEAR, DEFAULT_TO_YEAR);
+  }
+
+  /**
+   * Precomputes offsets for a zone over the specified window of years, and
+   * registers the result so that FastZone.of will return it. Any existing
+   * registration for the zone is replaced.
+   * @param zone the zone to register
+   * @param fromYear the first year of the window
+   * @param toYear the last year of the window
+   * @return the registered FastZone
+   */
+  public static FastZone register(final ZoneId zone, final int fromYear, final int toYear) {
+    FastZone fz = new FastZone(zone, fromYear, toYear);
+    registry.put(zone, fz);
+    return fz;
+  }
+
+  /**
+   * Removes a zone's registration.
+   * @param zone the zone to unregister
+   */
+  public static void unregister(final ZoneId zone) {
+    registry.remove(zone);
+  }
+
+  /**
+   * Returns the registered FastZone for a zone, or null if there isn't one.
+   * @param zone the zone to look up
+   * @return
+   */
+  public static FastZone of(final ZoneId zone) {
+    return registry.get(zone);
+  }
+
+  /**
+   * Returns the zone this FastZone was built for.
+   * @return
+   */
+  public ZoneId getZone() {
+    return this.zone;
+  }
+
+  private int offsetIndex(final long epochSecond) {
+    long d = Math.floorDiv(epochSecond, SECONDS_PER_DAY) - this.firstDay;
+    if (d < 0 || d >= this.dayOffsets.length) {
+      return -1;
+    }
+    byte idx = this.dayOffsets[(int) d];
+    if (idx != TRANSITION_DAY) {
+      return idx;
+    }
+    int t = Arrays.binarySearch(this.transitionSeconds, epochSecond);
+    // An exact match is the instant the new offset takes effect
+    int before = t >= 0 ? t : -t - 2;
+    return before < 0 ? this.initialOffset : this.transitionOffsets[before];
+  }
+
+  /**
+   * Returns the offset from UTC in seconds at the specified instant.
+   * @param epochSecond seconds since 1970-01-01T00:00:00Z
+   * @return
+   */
+  public int getOffsetSeconds(final long epochSecond) {
+    int idx = this.offsetIndex(epochSecond);
+    if (idx < 0) {
+      return this.rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+    return this.offsetSeconds[idx];
+  }
+
+  /**
+   * Returns the offset from UTC at the specified instant.
+   * @param epochMilli milliseconds since 1970-01-01T00:00:00Z
+   * @return
+   */
+  public ZoneOffset getOffset(final long epochMilli) {
+    int idx = this.offsetIndex(Math.floorDiv(epochMilli, 1000L));
+    if (idx < 0) {
+      return this.rules.getOffset(Instant.ofEpochMilli(epochMilli));
+    }
+    return this.offsets[idx];
+  }
+
+  /**
+   * Converts epoch milliseconds to the local epoch milliseconds in this zone;
+   * that is, the epoch milliseconds of the same wall clock time in UTC. The
+   * local date and time fields can then be obtained using EpochHodgePodge.
+   * @param epochMilli milliseconds since 1970-01-01T00:00:00Z
+   * @return
+   */
+  public long toLocalEpochMilli(final long epochMilli) {
+    return epochMilli + this.getOffsetSeconds(Math.floorDiv(epochMilli, 1000L)) * 1000L;
+  }
+
+  /**
+   * Converts epoch milliseconds to a LocalDateTime in this zone.
+   * @param epochMilli milliseconds since 1970-01-01T00:00:00Z
+   * @return
+   */
+  public LocalDateTime toLocalDateTime(final long epochMilli) {
+    return EpochHodgePodge.toLocalDateTime(this.toLocalEpochMilli(epochMilli));
+  }
+
+}
@@ -34,7 +34,10 @@ import lotus.domino.cso.Session;
  */
 public class HodgePodge {
 
-  private static TimeZone UTC = TimeZone.getTimeZone("UTC");
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+  private static final ThreadLocal<GregorianCalendar> THREAD_CALENDAR =
+      ThreadLocal.withInitial(HodgePodge::newIsoCalendar);
 
   /**
    * Converts a Calendar to a Date.
@@ -60,8 +63,7 @@ public class HodgePodge {
    * @return
    */
   public final static Date toDate (final ZonedDateTime zdt) {
-    ZonedDateTime zdtutc = zdt.withZoneSameInstant(ZoneOffset.UTC);
-    return Date.from(zdtutc.toInstant());
+    return new Date(EpochHodgePodge.toEpochMilli(zdt));
   }
 
   /**
@@ -71,7 +73,7 @@ public class HodgePodge {
    * @return
    */
   public final static Date toDate (final LocalDate ld) {
-    return Date.from(ld.atStartOfDay(ZoneOffset.UTC).toInstant());
+    return new Date(EpochHodgePodge.toEpochMilli(ld));
   }
 
   /**
@@ -82,8 +84,7 @@ public class HodgePodge {
    * @return
    */
   public final static Date toDate (final LocalTime lt, final LocalDate ondate) {
-    LocalDateTime ldt = lt.atDate(ondate);
-    return Date.from(ldt.atZone(ZoneOffset.UTC).toInstant());
+    return new Date(EpochHodgePodge.toEpochMilli(lt, ondate));
   }
 
   /**
@@ -101,7 +102,7 @@ public class HodgePodge {
    * @return
    */
   public final static Date toDate (final LocalDateTime ldt) {
-    return Date.from(ldt.atZone(ZoneOffset.UTC).toInstant());
+    return new Date(EpochHodgePodge.toEpochMilli(ldt));
   }
 
   /**
@@ -120,7 +121,7 @@ public class HodgePodge {
    * @return
    */
   public final static Calendar toCalendar (final Date d, final TimeZone z) {
-    GregorianCalendar cal = (GregorianCalendar) Calendar.getInstance(z);
+    GregorianCalendar cal = new GregorianCalendar(z);
     cal.setTime(d);
     return cal;
   }
@@ -142,7 +143,7 @@ public class HodgePodge {
    * @return
    */
   public final static Calendar toCalendar (final ZonedDateTime zdt) {
-    return GregorianCalendar.from(zdt);
+    return HodgePodge.fromZonedDateTime(zdt);
   }
 
   /**
@@ -178,7 +179,192 @@ public class HodgePodge {
    * @return
    */
   public final static Calendar toCalendar (final LocalDateTime ldt) {
-    return GregorianCalendar.from(ZonedDateTime.of(ldt, ZoneId.systemDefault()));
+    return HodgePodge.fromZonedDateTime(ZonedDateTime.of(ldt, ZoneId.systemDefault()));
+  }
+
+  /**
+   * Creates a GregorianCalendar in the default time zone, set up the same way
+   * as GregorianCalendar.from does: proleptic Gregorian, with ISO 8601 weeks.
+   * @return
+   */
+  static GregorianCalendar newIsoCalendar () {
+    return newIsoCalendar(TimeZone.getDefault());
+  }
+
+  /**
+   * Creates a GregorianCalendar in a time zone, set up the same way as
+   * GregorianCalendar.from does: proleptic Gregorian, with ISO 8601 weeks.
+   * @param zone the time zone, which the Calendar keeps
+   * @return
+   */
+  static GregorianCalendar newIsoCalendar (final TimeZone zone) {
+    GregorianCalendar cal = new GregorianCalendar(zone);
+    cal.setGregorianChange(new Date(Long.MIN_VALUE));
+    cal.setFirstDayOfWeek(Calendar.MONDAY);
+    cal.setMinimalDaysInFirstWeek(4);
+    return cal;
+  }
+
+  /**
+   * Does the same as GregorianCalendar.from, but gets the TimeZone from the
+   * ZoneCache rather than looking it up every time.
+   */
+  private static GregorianCalendar fromZonedDateTime (final ZonedDateTime zdt) {
+    GregorianCalendar cal = newIsoCalendar(ZoneCache.toTimeZone(zdt.getZone()));
+    try {
+      cal.setTimeInMillis(EpochHodgePodge.toEpochMilli(zdt));
+    } catch (ArithmeticException ex) {
+      throw new IllegalArgumentException(ex);
+    }
+    return cal;
+  }
+
+  /**
+   * Converts a Date to a Calendar by filling in a Calendar you supply, with a
+   * specified TimeZone applied to the Date. Useful when the Calendar is only
+   * read and then discarded, as no new Calendar is created.
+   * @param d the Date to convert
+   * @param z the TimeZone to assume the Date is in
+   * @param target the Calendar to set
+   * @return the target Calendar
+   */
+  public final static Calendar toCalendar (final Date d, final TimeZone z, final Calendar target) {
+    target.setTimeZone(z);
+    target.setTimeInMillis(d.getTime());
+    return target;
+  }
+
+  /**
+   * Converts an Instant to a Calendar by filling in a Calendar you supply.
+   * The Calendar's time zone is set to UTC, unless it's already UTC.
+   * @param ins the Instant to convert
+   * @param target the Calendar to set
+   * @return the target Calendar
+   */
+  public final static Calendar toCalendar (final Instant ins, final Calendar target) {
+    ZoneCache.setTimeZone(target, ZoneOffset.UTC);
+    target.setTimeInMillis(ins.toEpochMilli());
+    return target;
+  }
+
+  /**
+   * Converts a ZonedDateTime to a Calendar by filling in a Calendar you
+   * supply. The Calendar's time zone is set to the ZonedDateTime's zone,
+   * unless it's already an equal TimeZone.
+   * @param zdt the ZonedDateTime to convert
+   * @param target the Calendar to set
+   * @return the target Calendar
+   */
+  public final static Calendar toCalendar (final ZonedDateTime zdt, final Calendar target) {
+    ZoneCache.setTimeZone(target, zdt.getZone());
+    target.setTimeInMillis(EpochHodgePodge.toEpochMilli(zdt));
+    return target;
+  }
+
+  /**
+   * Converts a LocalDateTime to a Calendar by filling in a Calendar you
+   * supply. The date and time are taken to be in the Calendar's time zone,
+   * which is left alone. Times in a gap or overlap are resolved the same way
+   * as by LocalDateTime.atZone.
+   * @param ldt the LocalDateTime to convert
+   * @param target the Calendar to set
+   * @return the target Calendar
+   */
+  public final static Calendar toCalendar (final LocalDateTime ldt, final Calendar target) {
+    ZoneOffset offset = ZoneCache.getRules(target.getTimeZone()).getOffset(ldt);
+    target.setTimeInMillis(EpochHodgePodge.toEpochMilli(ldt) - offset.getTotalSeconds() * 1000L);
+    return target;
+  }
+
+  /**
+   * Converts a LocalDateTime in a specified zone to a Calendar by filling in
+   * a Calendar you supply. The Calendar's time zone is set to the zone,
+   * unless it's already an equal TimeZone.
+   * @param ldt the LocalDateTime to convert
+   * @param zone the zone the LocalDateTime is in
+   * @param target the Calendar to set
+   * @return the target Calendar
+   */
+  public final static Calendar toCalendar (final LocalDateTime ldt, final ZoneId zone, final Calendar target) {
+    ZoneCache.setTimeZone(target, zone);
+    ZoneOffset offset = ZoneCache.getRules(zone).getOffset(ldt);
+    target.setTimeInMillis(EpochHodgePodge.toEpochMilli(ldt) - offset.getTotalSeconds() * 1000L);
+    return target;
+  }
+
+  /**
+   * Converts a LocalDate to a Calendar by filling in a Calendar you supply.
+   * Unlike toCalendar(LocalDate), all the other fields are cleared first,
+   * since otherwise they'd be left at whatever the Calendar was last used
+   * for. The Calendar's time zone is left alone.
+   * @param ld the LocalDate to convert
+   * @param target the Calendar to set
+   * @return the target Calendar
+   */
+  public final static Calendar toCalendar (final LocalDate ld, final Calendar target) {
+    target.clear();
+    target.set(ld.getYear(), ld.getMonthValue() - 1, ld.getDayOfMonth());
+    return target;
+  }
+
+  /**
+   * Converts a LocalDate to a Calendar by filling in a Calendar you supply,
+   * as per toCalendar(LocalDate, Calendar), with the Calendar's time zone set
+   * to the specified zone unless it's already an equal TimeZone.
+   * @param ld the LocalDate to convert
+   * @param zone the zone for the Calendar
+   * @param target the Calendar to set
+   * @return the target Calendar
+   */
+  public final static Calendar toCalendar (final LocalDate ld, final ZoneId zone, final Calendar target) {
+    ZoneCache.setTimeZone(target, zone);
+    return toCalendar(ld, target);
+  }
+
+  /**
+   * Converts a LocalTime to a Calendar by filling in a Calendar you supply.
+   * Unlike toCalendar(LocalTime), all the other fields are cleared first,
+   * since otherwise they'd be left at whatever the Calendar was last used
+   * for. The Calendar's time zone is left alone.
+   * @param lt the LocalTime to convert
+   * @param target the Calendar to set
+   * @return the target Calendar
+   */
+  public final static Calendar toCalendar (final LocalTime lt, final Calendar target) {
+    target.clear();
+    target.set(Calendar.HOUR_OF_DAY, lt.getHour());
+    target.set(Calendar.MINUTE, lt.getMinute());
+    target.set(Calendar.SECOND, lt.getSecond());
+    return target;
+  }
+
+  /**
+   * Converts a LocalTime to a Calendar by filling in a Calendar you supply,
+   * as per toCalendar(LocalTime, Calendar), with the Calendar's time zone set
+   * to the specified zone unless it's already an equal TimeZone.
+   * @param lt the LocalTime to convert
+   * @param zone the zone for the Calendar
+   * @param target the Calendar to set
+   * @return the target Calendar
+   */
+  public final static Calendar toCalendar (final LocalTime lt, final ZoneId zone, final Calendar target) {
+    ZoneCache.setTimeZone(target, zone);
+    return toCalendar(lt, target);
+  }
+
+  /**
+   * Returns a Calendar which belongs to the current thread, for use as the
+   * target of the Calendar-filling toCalendar methods. The same Calendar is
+   * returned every time on a given thread, so its contents are only valid
+   * until the next time it's used; don't hold on to it, or pass it to code
+   * which might. Its time zone is whatever the last conversion on the
+   * thread left it as, so to fill it with a LocalDate, LocalTime or
+   * LocalDateTime, use the overloads which take a ZoneId. Reusing it doesn't
+   * create any garbage as long as the zone stays the same.
+   * @return
+   */
+  public final static Calendar threadCalendar () {
+    return THREAD_CALENDAR.get();
   }
 
   /**
@@ -230,6 +416,8 @@ public class HodgePodge {
   /**
    * Converts the specified Date to a ZonedDateTime, in whatever
    * the local system default time zone is at the appropriate Instant.
+   * If the system default zone has been registered with FastZone, the
+   * precomputed offsets are used.
    *
    * @param d the Date to convert
    * @return
@@ -237,7 +425,8 @@ public class HodgePodge {
   public final static ZonedDateTime toZonedDateTimeLocal (final Date d) {
     Instant ins = d.toInstant();
     ZoneId systemZone = ZoneId.systemDefault();
-    ZoneOffset offset = systemZone.getRules().getOffset(ins);
+    FastZone fz = FastZone.of(systemZone);
+    ZoneOffset offset = fz == null ? systemZone.getRules().getOffset(ins) : fz.getOffset(d.getTime());
     return ZonedDateTime.ofInstant(ins, offset);
   }
 
@@ -273,13 +462,35 @@ public class HodgePodge {
     return ins.atZone(ZoneOffset.UTC);
   }
 
+  /**
+   * Converts an Instant to the date it falls on in a time zone, without
+   * creating a ZonedDateTime. On Java 9 and later this uses LocalDate.ofInstant.
+   * @param ins the Instant to convert
+   * @param zone the time zone you want the date in
+   * @return
+   */
+  public final static LocalDate toLocalDate (final Instant ins, final ZoneId zone) {
+    return Platform.toLocalDate(ins, zone);
+  }
+
+  /**
+   * Converts an Instant to the time of day in a time zone, without creating
+   * a ZonedDateTime. On Java 9 and later this uses LocalTime.ofInstant.
+   * @param ins the Instant to convert
+   * @param zone the time zone you want the time in
+   * @return
+   */
+  public final static LocalTime toLocalTime (final Instant ins, final ZoneId zone) {
+    return Platform.toLocalTime(ins, zone);
+  }
+
   /**
    * Converts a Date to a LocalDate.
    * @param d the Date to convert
    * @return
    */
   public final static LocalDate toLocalDate (final Date d) {
-    return d.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+    return EpochHodgePodge.toLocalDate(d.getTime());
   }
 
   /**
@@ -292,13 +503,12 @@ public class HodgePodge {
   }
 
   /**
-   * Converts a Date to a LocalTime by converting it to a LocalDateTime and then discarding the date.
+   * Converts a Date to a LocalTime by discarding the date.
    * @param d the Date to convert
    * @return
    */
   public final static LocalTime toLocalTime (final Date d) {
-    Instant ins = Instant.ofEpochMilli(d.getTime());
-    return LocalDateTime.ofInstant(ins, ZoneOffset.UTC).toLocalTime();
+    return EpochHodgePodge.toLocalTime(d.getTime());
   }
 
   /**
@@ -317,18 +527,23 @@ public class HodgePodge {
    * @return
    */
   public final static LocalDateTime toLocalDateTime (final Date d) {
-    return LocalDateTime.ofInstant(d.toInstant(), ZoneOffset.UTC);
+    return EpochHodgePodge.toLocalDateTime(d.getTime());
   }
 
   /**
    * converts a Calendar to a LocalDateTime, adjusting it to the system default time zone
-   * if necessary.
+   * if necessary. If the Calendar's zone has been registered with FastZone, the
+   * precomputed offsets are used.
    * @param cal
    * @return
    */
   public final static LocalDateTime toLocalDateTime (final Calendar cal) {
     TimeZone tz = cal.getTimeZone();
-    ZoneId zid = tz == null ? ZoneId.systemDefault() : tz.toZoneId();
+    ZoneId zid = tz == null ? ZoneId.systemDefault() : ZoneCache.toZoneId(tz);
+    FastZone fz = FastZone.of(zid);
+    if (fz != null) {
+      return fz.toLocalDateTime(cal.getTimeInMillis());
+    }
     return LocalDateTime.ofInstant(cal.toInstant(), zid);
   }
 
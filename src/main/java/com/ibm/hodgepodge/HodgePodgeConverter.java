@@ -0,0 +1,181 @@
+package com.ibm.hodgepodge;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Converts between date and time types which are only known at runtime, by
+ * picking the appropriate single-argument conversion method from HodgePodge,
+ * SqlHodgePodge or XHodgePodge.
+ *
+ * The choice of method is made once per (source class, target class) pair,
+ * and cached as a MethodHandle in a ClassValue, so repeated conversions only
+ * cost a couple of lookups plus the conversion itself. If you're converting
+ * a lot of values of the same types, get a Function from converter() and
+ * reuse it, which skips the lookups.
+ *
+ * When more than one method could do the conversion, the one named after
+ * the target class (toInstant for Instant, and so on) is preferred, then the
+ * one with the most specific parameter type -- so a java.sql.Timestamp goes
+ * through SqlHodgePodge and keeps its nanoseconds. Values which are already
+ * instances of the target class are returned as they are.
+ */
+public class HodgePodgeConverter {
+
+  private static final Class<?>[] CONVERTERS = { HodgePodge.class, SqlHodgePodge.class, XHodgePodge.class };
+
+  private static final MethodType GENERIC = MethodType.methodType(Object.class, Object.class);
+
+  private static final MethodHandle IDENTITY = MethodHandles.identity(Object.class);
+
+  // Marks pairs which have been looked at and found to have no conversion
+  private static final MethodHandle NO_CONVERSION = MethodHandles.constant(Object.class, null);
+
+  // Marks pairs with more than one equally good conversion
+  private static final MethodHandle AMBIGUOUS = MethodHandles.constant(Object.class, null);
+
+  private static final ClassValue<ConcurrentHashMap<Class<?>, MethodHandle>> handles =
+      new ClassValue<ConcurrentHashMap<Class<?>, MethodHandle>>() {
+        @Override
+        protected ConcurrentHashMap<Class<?>, MethodHandle> computeValue(final Class<?> source) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  /**
+   * Converts a value to the specified type.
+   * @param value the value to convert; if null, null is returned
+   * @param target the class to convert to
+   * @return
+   * @throws DateTimeException if there's no conversion between the types, or the conversion fails
+   */
+  public static <T> T convert(final Object value, final Class<T> target) {
+    if (value == null) {
+      return null;
+    }
+    MethodHandle mh = handle(value.getClass(), target);
+    return target.cast(invoke(mh, value));
+  }
+
+  /**
+   * Returns a Function which converts values of the source class to the
+   * target class. The Function also accepts subclasses of the source class,
+   * but always uses the conversion chosen for the source class itself.
+   * @param source the class to convert from
+   * @param target the class to convert to
+   * @return
+   * @throws DateTimeException if there's no conversion between the types
+   */
+  public static <S, T> Function<S, T> converter(final Class<S> source, final Class<T> target) {
+    final MethodHandle mh = handle(source, target);
+    return x -> x == null ? null : target.cast(invoke(mh, x));
+  }
+
+  /**
+   * Returns whether there's a conversion from one class to another. Pairs
+   * with more than one equally good conversion give false, since convert
+   * and converter refuse them.
+   * @param source the class to convert from
+   * @param target the class to convert to
+   * @return
+   */
+  public static boolean canConvert(final Class<?> source, final Class<?> target) {
+    MethodHandle mh = lookup(source, target);
+    return mh != NO_CONVERSION && mh != AMBIGUOUS;
+  }
+
+  private static Object invoke(final MethodHandle mh, final Object value) {
+    try {
+      return (Object) mh.invokeExact(value);
+    } catch (RuntimeException | Error ex) {
+      throw ex;
+    } catch (Throwable t) {
+      throw new DateTimeException("Conversion of " + value.getClass().getName() + " failed", t);
+    }
+  }
+
+  private static MethodHandle handle(final Class<?> source, final Class<?> target) {
+    MethodHandle mh = lookup(source, target);
+    if (mh == NO_CONVERSION) {
+      throw new DateTimeException("Cannot convert " + source.getName() + " to " + target.getName());
+    }
+    if (mh == AMBIGUOUS) {
+      // Only worth finding the candidates again for the message
+      throw new DateTimeException("Ambiguous conversion from " + source.getName() + " to " + target.getName()
+          + ": " + candidates(source, target));
+    }
+    return mh;
+  }
+
+  private static MethodHandle lookup(final Class<?> source, final Class<?> target) {
+    ConcurrentHashMap<Class<?>, MethodHandle> byTarget = handles.get(source);
+    MethodHandle mh = byTarget.get(target);
+    if (mh == null) {
+      mh = resolve(source, target);
+      byTarget.putIfAbsent(target, mh);
+    }
+    return mh;
+  }
+
+  private static MethodHandle resolve(final Class<?> source, final Class<?> target) {
+    if (target.isAssignableFrom(source)) {
+      return IDENTITY;
+    }
+    List<Method> candidates = candidates(source, target);
+    if (candidates.isEmpty()) {
+      return NO_CONVERSION;
+    }
+    if (candidates.size() > 1) {
+      return AMBIGUOUS;
+    }
+    try {
+      return MethodHandles.publicLookup().unreflect(candidates.get(0)).asType(GENERIC);
+    } catch (IllegalAccessException ex) {
+      throw new DateTimeException("Cannot access conversion method " + candidates.get(0), ex);
+    }
+  }
+
+  // The best conversion methods from source to target; more than one means
+  // the choice is ambiguous
+  private static List<Method> candidates(final Class<?> source, final Class<?> target) {
+    List<Method> candidates = new ArrayList<>();
+    for (Class<?> cls : CONVERTERS) {
+      for (Method m : cls.getMethods()) {
+        if (Modifier.isStatic(m.getModifiers()) && m.getName().startsWith("to") && m.getParameterCount() == 1
+            && m.getParameterTypes()[0].isAssignableFrom(source) && target.isAssignableFrom(m.getReturnType())) {
+          candidates.add(m);
+        }
+      }
+    }
+    if (candidates.isEmpty()) {
+      return candidates;
+    }
+    // Prefer the method named after the target type
+    String name = "to" + target.getSimpleName();
+    if (candidates.stream().anyMatch(m -> m.getName().equals(name))) {
+      candidates.removeIf(m -> !m.getName().equals(name));
+    }
+    // Then the most specific parameter type
+    for (Iterator<Method> it = candidates.iterator(); it.hasNext();) {
+      Class<?> p = it.next().getParameterTypes()[0];
+      if (candidates.stream().map(m -> m.getParameterTypes()[0]).anyMatch(q -> q != p && p.isAssignableFrom(q))) {
+        it.remove();
+      }
+    }
+    // Then a return type of exactly the target type
+    if (candidates.stream().anyMatch(m -> m.getReturnType() == target)) {
+      candidates.removeIf(m -> m.getReturnType() != target);
+    }
+    return candidates;
+  }
+
+}
@@ -0,0 +1,200 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Ready-made functions and Collectors for using the HodgePodge conversions in
+ * java.util.stream pipelines, so you don't have to wrap the overloaded static
+ * methods in lambdas yourself.
+ *
+ * Where a conversion has a natural primitive form, there's a ToLongFunction
+ * or LongFunction, for use with mapToLong and LongStream.mapToObj; that way
+ * the pipeline doesn't box every value. The Collectors likewise accumulate
+ * epoch milliseconds in primitive arrays.
+ */
+public class HodgePodgeStreams {
+
+  /** HodgePodge.toInstant(Date). */
+  public static final Function<Date, Instant> DATE_TO_INSTANT = HodgePodge::toInstant;
+  /** HodgePodge.toZonedDateTime(Date), in UTC. */
+  public static final Function<Date, ZonedDateTime> DATE_TO_ZONED_DATE_TIME = HodgePodge::toZonedDateTime;
+  /** HodgePodge.toLocalDate(Date), in UTC. */
+  public static final Function<Date, LocalDate> DATE_TO_LOCAL_DATE = HodgePodge::toLocalDate;
+  /** HodgePodge.toLocalDateTime(Date), in UTC. */
+  public static final Function<Date, LocalDateTime> DATE_TO_LOCAL_DATE_TIME = HodgePodge::toLocalDateTime;
+  /** HodgePodge.toInstant(Calendar). */
+  public static final Function<Calendar, Instant> CALENDAR_TO_INSTANT = HodgePodge::toInstant;
+  /** HodgePodge.toZonedDateTime(Calendar), in the Calendar's zone. */
+  public static final Function<Calendar, ZonedDateTime> CALENDAR_TO_ZONED_DATE_TIME = HodgePodge::toZonedDateTime;
+  /** HodgePodge.toLocalDateTime(Calendar), in the Calendar's zone. */
+  public static final Function<Calendar, LocalDateTime> CALENDAR_TO_LOCAL_DATE_TIME = HodgePodge::toLocalDateTime;
+  /** HodgePodge.toDate(Instant). */
+  public static final Function<Instant, Date> INSTANT_TO_DATE = HodgePodge::toDate;
+  /** HodgePodge.toDate(ZonedDateTime). */
+  public static final Function<ZonedDateTime, Date> ZONED_DATE_TIME_TO_DATE = HodgePodge::toDate;
+  /** HodgePodge.toDate(LocalDate): the start of the day in UTC. */
+  public static final Function<LocalDate, Date> LOCAL_DATE_TO_DATE = HodgePodge::toDate;
+  /** HodgePodge.toDate(LocalDateTime), taken as UTC. */
+  public static final Function<LocalDateTime, Date> LOCAL_DATE_TIME_TO_DATE = HodgePodge::toDate;
+
+  /** EpochHodgePodge.toEpochMilli(Date). */
+  public static final ToLongFunction<Date> DATE_TO_EPOCH_MILLI = EpochHodgePodge::toEpochMilli;
+  /** EpochHodgePodge.toEpochMilli(Calendar). */
+  public static final ToLongFunction<Calendar> CALENDAR_TO_EPOCH_MILLI = EpochHodgePodge::toEpochMilli;
+  /** EpochHodgePodge.toEpochMilli(Instant), truncated to milliseconds. */
+  public static final ToLongFunction<Instant> INSTANT_TO_EPOCH_MILLI = EpochHodgePodge::toEpochMilli;
+  /** EpochHodgePodge.toEpochMilli(ZonedDateTime), truncated to milliseconds. */
+  public static final ToLongFunction<ZonedDateTime> ZONED_DATE_TIME_TO_EPOCH_MILLI = EpochHodgePodge::toEpochMilli;
+  /** EpochHodgePodge.toEpochMilli(LocalDateTime), taken as UTC. */
+  public static final ToLongFunction<LocalDateTime> LOCAL_DATE_TIME_TO_EPOCH_MILLI = EpochHodgePodge::toEpochMilli;
+  /** LocalDate.toEpochDay. */
+  public static final ToLongFunction<LocalDate> LOCAL_DATE_TO_EPOCH_DAY = LocalDate::toEpochDay;
+
+  /** new Date(long). */
+  public static final LongFunction<Date> EPOCH_MILLI_TO_DATE = Date::new;
+  /** Instant.ofEpochMilli. */
+  public static final LongFunction<Instant> EPOCH_MILLI_TO_INSTANT = Instant::ofEpochMilli;
+  /** EpochHodgePodge.toLocalDate(long), in UTC. */
+  public static final LongFunction<LocalDate> EPOCH_MILLI_TO_LOCAL_DATE = EpochHodgePodge::toLocalDate;
+  /** EpochHodgePodge.toLocalDateTime(long), in UTC. */
+  public static final LongFunction<LocalDateTime> EPOCH_MILLI_TO_LOCAL_DATE_TIME = EpochHodgePodge::toLocalDateTime;
+  /** LocalDate.ofEpochDay. */
+  public static final LongFunction<LocalDate> EPOCH_DAY_TO_LOCAL_DATE = LocalDate::ofEpochDay;
+
+  /**
+   * Collects values into an array of epoch milliseconds, in encounter order.
+   * @param toMillis converts each value to epoch milliseconds, for example DATE_TO_EPOCH_MILLI
+   * @return
+   */
+  public static <T> Collector<T, ?, long[]> toEpochMilliArray(final ToLongFunction<? super T> toMillis) {
+    return Collector.of(MilliBuffer::new,
+        (buf, x) -> buf.add(toMillis.applyAsLong(x)),
+        MilliBuffer::addAll,
+        MilliBuffer::toArray);
+  }
+
+  /**
+   * Collects Dates into an array of Instants, sorted into ascending order.
+   * The sorting is done on the epoch milliseconds, before any Instants are
+   * created.
+   * @return
+   */
+  public static Collector<Date, ?, Instant[]> toSortedInstantArray() {
+    return toSortedInstantArray(DATE_TO_EPOCH_MILLI);
+  }
+
+  /**
+   * Collects values into an array of Instants, sorted into ascending order.
+   * @param toMillis converts each value to epoch milliseconds, for example CALENDAR_TO_EPOCH_MILLI
+   * @return
+   */
+  public static <T> Collector<T, ?, Instant[]> toSortedInstantArray(final ToLongFunction<? super T> toMillis) {
+    return Collector.of(MilliBuffer::new,
+        (buf, x) -> buf.add(toMillis.applyAsLong(x)),
+        MilliBuffer::addAll,
+        buf -> {
+          long[] millis = buf.toArray();
+          Arrays.sort(millis);
+          Instant[] out = new Instant[millis.length];
+          BatchHodgePodge.toInstants(millis, out);
+          return out;
+        },
+        Collector.Characteristics.UNORDERED);
+  }
+
+  /**
+   * Groups Dates by the LocalDate they fall on in the specified time zone.
+   * @param zone the time zone to determine the date in
+   * @return a map from date to the Dates on that date, in date order
+   */
+  public static Collector<Date, ?, SortedMap<LocalDate, List<Date>>> groupingByLocalDate(final ZoneId zone) {
+    return groupingByLocalDate(DATE_TO_EPOCH_MILLI, zone);
+  }
+
+  /**
+   * Groups values by the LocalDate they fall on in the specified time zone.
+   * The zone's rules are resolved once per accumulation rather than once per
+   * value.
+   * @param toMillis converts each value to epoch milliseconds, for example INSTANT_TO_EPOCH_MILLI
+   * @param zone the time zone to determine the date in
+   * @return a map from date to the values on that date, in date order
+   */
+  public static <T> Collector<T, ?, SortedMap<LocalDate, List<T>>> groupingByLocalDate(
+      final ToLongFunction<? super T> toMillis, final ZoneId zone) {
+    return Collector.of(() -> new DateGroups<T>(zone),
+        (groups, x) -> groups.add(toMillis.applyAsLong(x), x),
+        DateGroups::addAll,
+        groups -> groups.map);
+  }
+
+  /**
+   * A growable array of epoch milliseconds.
+   */
+  private static final class MilliBuffer {
+    private long[] values = new long[16];
+    private int size;
+
+    void add(final long v) {
+      if (this.size == this.values.length) {
+        this.values = Arrays.copyOf(this.values, this.size * 2);
+      }
+      this.values[this.size++] = v;
+    }
+
+    MilliBuffer addAll(final MilliBuffer other) {
+      if (this.size + other.size > this.values.length) {
+        this.values = Arrays.copyOf(this.values, Math.max(this.values.length * 2, this.size + other.size));
+      }
+      System.arraycopy(other.values, 0, this.values, this.size, other.size);
+      this.size += other.size;
+      return this;
+    }
+
+    long[] toArray() {
+      return Arrays.copyOf(this.values, this.size);
+    }
+  }
+
+  /**
+   * Values grouped by local date, plus the offset window used to find the dates.
+   */
+  private static final class DateGroups<T> {
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    final TreeMap<LocalDate, List<T>> map = new TreeMap<>();
+    private final ZoneOffsetWindow window;
+
+    DateGroups(final ZoneId zone) {
+      this.window = new ZoneOffsetWindow(zone);
+    }
+
+    void add(final long millis, final T x) {
+      long day = Math.floorDiv(millis + this.window.offsetMillis(millis), MILLIS_PER_DAY);
+      this.map.computeIfAbsent(LocalDate.ofEpochDay(day), k -> new ArrayList<>()).add(x);
+    }
+
+    DateGroups<T> addAll(final DateGroups<T> other) {
+      for (Map.Entry<LocalDate, List<T>> e : other.map.entrySet()) {
+        this.map.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).addAll(e.getValue());
+      }
+      return this;
+    }
+  }
+
+}
@@ -0,0 +1,334 @@
+package com.ibm.hodgepodge;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import lotus.domino.International;
+import lotus.domino.NotesException;
+
+/**
+ * A hand-written parser for the date and time text Domino produces from
+ * DateTime.getZoneTime(), getGMTTime() and getLocalTime(), in the layout
+ * given by a session's International settings -- the same layouts as
+ * XHodgePodge.buildFormatterString describes. It can also format dates and
+ * times in the same layout, for Session.createDateTime(String).
+ *
+ * Unlike DateTimeFormatter.parse, it reads directly from a range of a
+ * CharSequence and produces a primitive value, so parsing creates no
+ * intermediate Strings or TemporalAccessors. Any text after the time, such
+ * as the time zone abbreviation Domino appends, is ignored, as long as it's
+ * separated from the time by whitespace.
+ *
+ * Values are resolved the same way as a DateTimeFormatter with the default
+ * SMART resolver style: a day of month which is too large for the month
+ * (such as 2/30) is reduced to the last day of the month.
+ *
+ * Layouts are immutable and thread safe. Get one from
+ * XHodgePodge.getLayout, which caches them.
+ */
+public final class NotesDateTimeLayout {
+
+  private static final int YMD = 0;
+  private static final int DMY = 1;
+  private static final int MDY = 2;
+
+  private final int order;
+  private final String dateSep;
+  private final String timeSep;
+  private final boolean time24Hour;
+  private final String am;
+  private final String pm;
+
+  NotesDateTimeLayout(final NotesFormatKey key) {
+    this.order = key.ymd ? YMD : key.dmy ? DMY : MDY;
+    this.dateSep = key.dateSep;
+    this.timeSep = key.timeSep;
+    this.time24Hour = key.time24Hour;
+    this.am = key.am;
+    this.pm = key.pm;
+  }
+
+  /**
+   * Creates a layout for the specified International settings. Generally
+   * you'll want XHodgePodge.getLayout instead, which caches layouts.
+   * @param i18n the International settings, from session.getInternational()
+   * @return
+   * @throws NotesException
+   */
+  public static NotesDateTimeLayout of(final International i18n) throws NotesException {
+    return new NotesDateTimeLayout(NotesFormatKey.of(i18n));
+  }
+
+  /**
+   * Parses a date and time, returning the number of seconds from
+   * 1970-01-01T00:00:00 to the parsed wall clock time, as though it were UTC.
+   * Subtracting two such values gives the difference between the wall clock
+   * times in seconds.
+   * @param text the text to parse
+   * @param from the index of the first character of the date
+   * @param to the index after the last character which may be read
+   * @return the local epoch second
+   * @throws DateTimeParseException if the text isn't a date and time in this layout
+   */
+  public long parseLocalEpochSecond(final CharSequence text, final int from, final int to) {
+    int pos = from;
+    int a, b, c;
+    // Date
+    long v = this.number(text, pos, to, this.order == YMD ? 9 : 2);
+    a = (int) v;
+    pos = this.separator(text, (int) (v >>> 32), to, this.dateSep);
+    v = this.number(text, pos, to, 2);
+    b = (int) v;
+    pos = this.separator(text, (int) (v >>> 32), to, this.dateSep);
+    v = this.number(text, pos, to, this.order == YMD ? 2 : 9);
+    c = (int) v;
+    pos = this.separator(text, (int) (v >>> 32), to, " ");
+    int year, month, day;
+    switch (this.order) {
+      case YMD: year = a; month = b; day = c; break;
+      case DMY: year = c; month = b; day = a; break;
+      default: year = c; month = a; day = b; break;
+    }
+    // Time
+    v = this.number(text, pos, to, 2);
+    int hour = (int) v;
+    pos = this.separator(text, (int) (v >>> 32), to, this.timeSep);
+    v = this.fixedNumber(text, pos, to);
+    int minute = (int) v;
+    pos = this.separator(text, (int) (v >>> 32), to, this.timeSep);
+    v = this.fixedNumber(text, pos, to);
+    int second = (int) v;
+    pos = (int) (v >>> 32);
+    if (!this.time24Hour) {
+      pos = this.separator(text, pos, to, " ");
+      boolean isPm;
+      if (this.matches(text, pos, to, this.am)) {
+        isPm = false;
+        pos += this.am.length();
+      } else if (this.matches(text, pos, to, this.pm)) {
+        isPm = true;
+        pos += this.pm.length();
+      } else {
+        throw error("Expected " + this.am + " or " + this.pm, text, from, to, pos);
+      }
+      if (hour < 1 || hour > 12) {
+        throw error("Invalid clock hour " + hour, text, from, to, pos);
+      }
+      hour = (hour % 12) + (isPm ? 12 : 0);
+    }
+    if (pos < to && !Character.isWhitespace(text.charAt(pos))) {
+      throw error("Unexpected text after time", text, from, to, pos);
+    }
+    if (hour > 23 || minute > 59 || second > 59) {
+      throw error("Invalid time " + hour + ":" + minute + ":" + second, text, from, to, from);
+    }
+    if (month < 1 || month > 12 || day < 1 || day > 31) {
+      throw error("Invalid date " + year + "-" + month + "-" + day, text, from, to, from);
+    }
+    day = Math.min(day, lengthOfMonth(year, month));
+    long epochDay;
+    try {
+      epochDay = EpochHodgePodge.toEpochDay(year, month, day);
+    } catch (DateTimeException ex) {
+      throw error(ex.getMessage(), text, from, to, from);
+    }
+    return epochDay * 86400L + hour * 3600L + minute * 60L + second;
+  }
+
+  /**
+   * Parses a whole String containing a date and time, such as the result of
+   * DateTime.getZoneTime(), returning the local epoch second.
+   * @param text the text to parse
+   * @return the local epoch second
+   * @throws DateTimeParseException if the text isn't a date and time in this layout
+   */
+  public long parseLocalEpochSecond(final CharSequence text) {
+    return this.parseLocalEpochSecond(text, 0, text.length());
+  }
+
+  /**
+   * Parses a date and time to a LocalDateTime.
+   * @param text the text to parse
+   * @param from the index of the first character of the date
+   * @param to the index after the last character which may be read
+   * @return
+   * @throws DateTimeParseException if the text isn't a date and time in this layout
+   */
+  public LocalDateTime parseLocalDateTime(final CharSequence text, final int from, final int to) {
+    return LocalDateTime.ofEpochSecond(this.parseLocalEpochSecond(text, from, to), 0, ZoneOffset.UTC);
+  }
+
+  /**
+   * Parses a whole String containing a date and time to a LocalDateTime.
+   * @param text the text to parse
+   * @return
+   * @throws DateTimeParseException if the text isn't a date and time in this layout
+   */
+  public LocalDateTime parseLocalDateTime(final CharSequence text) {
+    return this.parseLocalDateTime(text, 0, text.length());
+  }
+
+  /**
+   * Formats a date in this layout, for example "10/9/2018". Passing the
+   * result to Session.createDateTime(String) gives a DateTime with the time
+   * wildcarded.
+   * @param ld the date to format
+   * @return
+   */
+  public String formatDate(final LocalDate ld) {
+    return this.appendDate(new StringBuilder(10), ld.getYear(), ld.getMonthValue(), ld.getDayOfMonth()).toString();
+  }
+
+  /**
+   * Formats a time of day in this layout, for example "11:10:09 PM", to the
+   * nearest second. Passing the result to Session.createDateTime(String)
+   * gives a DateTime with the date wildcarded.
+   * @param lt the time to format
+   * @return
+   */
+  public String formatTime(final LocalTime lt) {
+    return this.appendTime(new StringBuilder(8 + this.am.length() + this.pm.length()),
+        lt.getHour(), lt.getMinute(), lt.getSecond()).toString();
+  }
+
+  StringBuilder appendDate(final StringBuilder sb, final int year, final int month, final int day) {
+    switch (this.order) {
+      case YMD:
+        appendYear(sb, year).append(this.dateSep).append(month).append(this.dateSep).append(day);
+        break;
+      case DMY:
+        appendYear(sb.append(day).append(this.dateSep).append(month).append(this.dateSep), year);
+        break;
+      default:
+        appendYear(sb.append(month).append(this.dateSep).append(day).append(this.dateSep), year);
+        break;
+    }
+    return sb;
+  }
+
+  StringBuilder appendTime(final StringBuilder sb, final int hour, final int minute, final int second) {
+    if (this.time24Hour) {
+      sb.append(hour);
+    } else {
+      sb.append(hour % 12 == 0 ? 12 : hour % 12);
+    }
+    appendTwoDigits(sb.append(this.timeSep), minute);
+    appendTwoDigits(sb.append(this.timeSep), second);
+    if (!this.time24Hour) {
+      sb.append(' ').append(hour < 12 ? this.am : this.pm);
+    }
+    return sb;
+  }
+
+  // Always four digits, so that Notes can't take it for a two digit year
+  private static StringBuilder appendYear(final StringBuilder sb, final int year) {
+    if (year < 1000) {
+      sb.append(year < 10 ? "000" : year < 100 ? "00" : "0");
+    }
+    return sb.append(year);
+  }
+
+  private static StringBuilder appendTwoDigits(final StringBuilder sb, final int value) {
+    return sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+  }
+
+  /**
+   * Finds the time zone abbreviation on the end of date and time text, such
+   * as the EST in a getZoneTime() value.
+   * @param text the text
+   * @param from the index of the first character of the date
+   * @param to the index after the last character of the text
+   * @return the index of the start of the abbreviation, or -1 if there isn't one
+   */
+  int zoneStart(final CharSequence text, final int from, final int to) {
+    int start = to;
+    while (start > from && !Character.isWhitespace(text.charAt(start - 1))) {
+      start--;
+    }
+    if (start == from || start == to) {
+      return -1;
+    }
+    // The last thing other than a zone could be the seconds or the AM/PM string
+    char ch = text.charAt(start);
+    if ((ch >= '0' && ch <= '9')
+        || (!this.time24Hour && (this.matchesExactly(text, start, to, this.am)
+            || this.matchesExactly(text, start, to, this.pm)))) {
+      return -1;
+    }
+    return start;
+  }
+
+  private boolean matchesExactly(final CharSequence text, final int pos, final int to, final String s) {
+    return to - pos == s.length() && this.matches(text, pos, to, s);
+  }
+
+  // The number parsers return the value in the low 32 bits and the position
+  // after it in the high 32 bits, to avoid allocating a result object.
+
+  private long number(final CharSequence text, final int from, final int to, final int maxDigits) {
+    int pos = from;
+    int value = 0;
+    while (pos < to && pos - from < maxDigits) {
+      char ch = text.charAt(pos);
+      if (ch < '0' || ch > '9') {
+        break;
+      }
+      value = value * 10 + (ch - '0');
+      pos++;
+    }
+    if (pos == from) {
+      throw error("Expected a number", text, from, to, pos);
+    }
+    return ((long) pos << 32) | value;
+  }
+
+  private long fixedNumber(final CharSequence text, final int from, final int to) {
+    long v = this.number(text, from, to, 2);
+    if ((int) (v >>> 32) - from != 2) {
+      throw error("Expected two digits", text, from, to, from);
+    }
+    return v;
+  }
+
+  private int separator(final CharSequence text, final int pos, final int to, final String sep) {
+    if (!this.matches(text, pos, to, sep)) {
+      throw error("Expected '" + sep + "'", text, pos, to, pos);
+    }
+    return pos + sep.length();
+  }
+
+  private boolean matches(final CharSequence text, final int pos, final int to, final String s) {
+    int len = s.length();
+    if (pos + len > to) {
+      return false;
+    }
+    for (int i = 0; i < len; i++) {
+      if (text.charAt(pos + i) != s.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static DateTimeParseException error(final String msg, final CharSequence text, final int from,
+      final int to, final int pos) {
+    CharSequence parsed = text.subSequence(Math.min(from, to), to);
+    return new DateTimeParseException(msg + " in '" + parsed + "'", parsed, Math.max(0, pos - from));
+  }
+
+  private static int lengthOfMonth(final int year, final int month) {
+    switch (month) {
+      case 2: return ((year & 3) == 0) && ((year % 100) != 0 || (year % 400) == 0) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11: return 30;
+      default: return 31;
+    }
+  }
+
+}
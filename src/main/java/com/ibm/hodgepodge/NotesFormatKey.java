@@ -0,0 +1,77 @@
+package com.ibm.hodgepodge;
+
+import lotus.domino.International;
+import lotus.domino.NotesException;
+
+/**
+ * The International settings which determine how Domino formats dates and
+ * times as text, captured as a value so that they can be used as a cache key.
+ */
+final class NotesFormatKey {
+
+  final boolean ymd;
+  final boolean dmy;
+  final boolean mdy;
+  final String dateSep;
+  final String timeSep;
+  final boolean time24Hour;
+  final String am;
+  final String pm;
+  private final int hash;
+
+  // The number of calls of() makes on the International object
+  static final int CALLS = 8;
+
+  NotesFormatKey(final boolean ymd, final boolean dmy, final boolean mdy, final String dateSep,
+      final String timeSep, final boolean time24Hour, final String am, final String pm) {
+    this.ymd = ymd;
+    this.dmy = dmy;
+    this.mdy = mdy;
+    this.dateSep = dateSep;
+    this.timeSep = timeSep;
+    this.time24Hour = time24Hour;
+    this.am = am;
+    this.pm = pm;
+    int h = (ymd ? 1 : 0) | (dmy ? 2 : 0) | (mdy ? 4 : 0) | (time24Hour ? 8 : 0);
+    h = 31 * h + dateSep.hashCode();
+    h = 31 * h + timeSep.hashCode();
+    h = 31 * h + am.hashCode();
+    h = 31 * h + pm.hashCode();
+    this.hash = h;
+  }
+
+  /**
+   * Reads the relevant settings from an International object.
+   * @throws NotesException
+   */
+  static NotesFormatKey of(final International i18n) throws NotesException {
+    return new NotesFormatKey(i18n.isDateYMD(), i18n.isDateDMY(), i18n.isDateMDY(), i18n.getDateSep(),
+        i18n.getTimeSep(), i18n.isTime24Hour(), i18n.getAMString(), i18n.getPMString());
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hash;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof NotesFormatKey)) {
+      return false;
+    }
+    NotesFormatKey k = (NotesFormatKey) obj;
+    return this.ymd == k.ymd && this.dmy == k.dmy && this.mdy == k.mdy && this.time24Hour == k.time24Hour
+        && this.dateSep.equals(k.dateSep) && this.timeSep.equals(k.timeSep)
+        && this.am.equals(k.am) && this.pm.equals(k.pm);
+  }
+
+  @Override
+  public String toString() {
+    return (this.ymd ? "YMD" : this.dmy ? "DMY" : this.mdy ? "MDY" : "") + " '" + this.dateSep + "' '"
+        + this.timeSep + "' " + (this.time24Hour ? "24h" : "12h " + this.am + "/" + this.pm);
+  }
+
+}
@@ -0,0 +1,117 @@
+package com.ibm.hodgepodge;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the UTC offsets found by comparing a DateTime's zone time with
+ * its GMT time, so that later DateTimes in the same Notes zone and period
+ * only need their zone time fetching and parsing.
+ *
+ * Entries are keyed by the zone abbreviation on the end of the zone time
+ * text (EST, CEDT, ZE5B and so on), plus the year. Notes uses different
+ * abbreviations for standard and daylight saving time, so the abbreviation
+ * alone fixes the offset, and one entry serves every value in that zone and
+ * period however far apart they are. The year is there for the rare changes
+ * to a zone's rules, so that an entry is never applied more than a year away
+ * from the value it was learned from.
+ *
+ * The cache is bounded: if it ever holds more than the maximum number of
+ * entries, it is cleared and starts filling again. It's thread safe, and
+ * lookups don't lock.
+ */
+final class NotesOffsetCache {
+
+  /**
+   * The default maximum number of entries.
+   */
+  static final int DEFAULT_SIZE = 4096;
+
+  /**
+   * Returned by get when there's no entry.
+   */
+  static final int NO_OFFSET = Integer.MIN_VALUE;
+
+  /**
+   * Returned by key when the text has no usable zone abbreviation.
+   */
+  static final long NO_KEY = -1L;
+
+  private static final int MAX_ABBREVIATION = 5;
+
+  // The years Notes can represent, as epoch days
+  private static final long MIN_DAY = EpochHodgePodge.toEpochDay(1, 1, 1);
+  private static final long MAX_DAY = EpochHodgePodge.toEpochDay(9999, 12, 31);
+
+  private final ConcurrentHashMap<Long, Integer> offsets = new ConcurrentHashMap<>();
+  private final int maxSize;
+
+  NotesOffsetCache(final int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Makes a cache key from a zone abbreviation and the year of a local date
+   * and time.
+   * @param text the text containing the abbreviation
+   * @param zoneStart the index of the abbreviation, or -1 if there isn't one
+   * @param to the index after the end of the abbreviation
+   * @param localEpochSecond the local date and time, as parsed from the text
+   * @return the key, or NO_KEY if the value can't be cached
+   */
+  static long key(final CharSequence text, final int zoneStart, final int to, final long localEpochSecond) {
+    if (zoneStart < 0 || to - zoneStart > MAX_ABBREVIATION) {
+      return NO_KEY;
+    }
+    long day = Math.floorDiv(localEpochSecond, 86400L);
+    if (day < MIN_DAY || day > MAX_DAY) {
+      return NO_KEY;
+    }
+    // 7 bits per character, with 14 bits for the year below them
+    long abbr = 0;
+    for (int i = zoneStart; i < to; i++) {
+      char ch = text.charAt(i);
+      if (ch <= ' ' || ch >= 127) {
+        return NO_KEY;
+      }
+      abbr = (abbr << 7) | ch;
+    }
+    return (abbr << 14) | (EpochHodgePodge.toPackedDate(day) / 10000);
+  }
+
+  /**
+   * Gets the offset for a key.
+   * @param key the key, from key()
+   * @return the offset in seconds, or NO_OFFSET
+   */
+  int get(final long key) {
+    if (key == NO_KEY) {
+      return NO_OFFSET;
+    }
+    Integer offset = this.offsets.get(key);
+    return offset == null ? NO_OFFSET : offset;
+  }
+
+  /**
+   * Remembers the offset for a key.
+   * @param key the key, from key()
+   * @param offsetSeconds the offset in seconds
+   */
+  void put(final long key, final int offsetSeconds) {
+    if (key == NO_KEY) {
+      return;
+    }
+    if (this.offsets.size() >= this.maxSize) {
+      this.offsets.clear();
+    }
+    this.offsets.put(key, offsetSeconds);
+  }
+
+  int size() {
+    return this.offsets.size();
+  }
+
+  void clear() {
+    this.offsets.clear();
+  }
+
+}
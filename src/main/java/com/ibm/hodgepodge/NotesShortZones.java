@@ -0,0 +1,91 @@
+package com.ibm.hodgepodge;
+
+import java.time.ZoneOffset;
+
+/**
+ * A lookup table from Notes time zone abbreviations to ZoneOffsets, for
+ * reading the zone off the end of DateTime.getZoneTime() text without
+ * creating a String.
+ *
+ * Abbreviations are at most four ASCII characters, so each one is packed
+ * into an int and looked up in a small open-addressed hash table. The
+ * offsets come from XHodgePodge.decodeNotesShortZone, so there's only one
+ * list of them to maintain.
+ */
+final class NotesShortZones {
+
+  // The abbreviations XHodgePodge.decodeNotesShortZone knows about
+  private static final String[] NAMES = {
+    "ADT", "AST", "BST", "CDT", "CEDT", "CET", "CST", "EDT", "EST", "GDT", "MDT", "MST", "NDT", "NST",
+    "PDT", "PST", "YDT", "YST", "YW1", "YW2", "YW3", "ZE10", "ZE11", "ZE12", "ZE13", "ZE2", "ZE3",
+    "ZE3B", "ZE4", "ZE4B", "ZE5", "ZE5B", "ZE5C", "ZE6", "ZE6B", "ZE7", "ZE8", "ZE9", "ZE9B", "ZW1",
+    "ZW12", "ZW2", "ZW3"
+  };
+
+  private static final int MAX_LENGTH = 4;
+
+  // Power of two, comfortably larger than the number of names
+  private static final int SIZE = 128;
+
+  private static final int[] keys = new int[SIZE];
+  private static final ZoneOffset[] offsets = new ZoneOffset[SIZE];
+
+  static {
+    for (String name : NAMES) {
+      int key = pack(name, 0, name.length());
+      int i = slot(key);
+      while (keys[i] != 0) {
+        i = (i + 1) & (SIZE - 1);
+      }
+      keys[i] = key;
+      offsets[i] = ZoneOffset.of(XHodgePodge.decodeNotesShortZone(name));
+    }
+  }
+
+  private NotesShortZones() {
+  }
+
+  // Packs up to four ASCII characters into an int, or returns 0 if they won't fit
+  private static int pack(final CharSequence cs, final int offset, final int length) {
+    if (length < 1 || length > MAX_LENGTH) {
+      return 0;
+    }
+    int key = 0;
+    for (int i = offset; i < offset + length; i++) {
+      char ch = cs.charAt(i);
+      if (ch == 0 || ch > 127) {
+        return 0;
+      }
+      key = (key << 8) | ch;
+    }
+    return key;
+  }
+
+  private static int slot(final int key) {
+    return (key * 0x9E3779B9) >>> 25;
+  }
+
+  /**
+   * Looks up an abbreviation.
+   * @param cs the text containing the abbreviation
+   * @param offset the index of the abbreviation
+   * @param length the length of the abbreviation
+   * @return the offset, or null if the abbreviation isn't known
+   */
+  static ZoneOffset lookup(final CharSequence cs, final int offset, final int length) {
+    int key = pack(cs, offset, length);
+    if (key == 0) {
+      return null;
+    }
+    int i = slot(key);
+    int k;
+    while ((k = keys[i]) != 0) {
+      if (k == key) {
+        return offsets[i];
+      }
+      i = (i + 1) & (SIZE - 1);
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,141 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache which maps Notes time zone field values, such as
+ * "Z=5$DO=1$DL=3 2 1 11 1 1$ZX=9$ZN=Eastern", to ZoneIds and their rules.
+ *
+ * Documents generally only carry a handful of distinct time zone strings, so
+ * after the first time each one is seen, converting it costs a single hash
+ * lookup rather than a scan for the zone name, a lookup in the table of
+ * names and a call to ZoneId.of. Zone strings which can't be converted are
+ * remembered too, so they also only cost a lookup.
+ *
+ * The cache is bounded: if it ever holds more than MAX_SIZE entries, it is
+ * cleared and starts filling again. It's safe to use from multiple threads
+ * without locking. The numbers of hits and misses are counted, for checking
+ * that the cache is doing its job.
+ */
+public class NotesZoneCache {
+
+  /**
+   * The maximum number of entries in the cache.
+   */
+  public static final int MAX_SIZE = 1024;
+
+  // A resolved zone string
+  private static final class Entry {
+    final ZoneId zoneId;
+    final ZoneRules rules;
+
+    Entry(final ZoneId zoneId, final ZoneRules rules) {
+      this.zoneId = zoneId;
+      this.rules = rules;
+    }
+  }
+
+  // Marks zone strings which couldn't be converted
+  private static final Entry UNKNOWN = new Entry(null, null);
+
+  private static final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private static final LongAdder hits = new LongAdder();
+  private static final LongAdder misses = new LongAdder();
+
+  private static Entry lookup(final String notesTimeZone) {
+    Entry e = entries.get(notesTimeZone);
+    if (e != null) {
+      hits.increment();
+      return e;
+    }
+    misses.increment();
+    e = resolve(notesTimeZone);
+    if (entries.size() >= MAX_SIZE) {
+      entries.clear();
+    }
+    Entry old = entries.putIfAbsent(notesTimeZone, e);
+    return old == null ? e : old;
+  }
+
+  private static Entry resolve(final String notesTimeZone) {
+    String id = XHodgePodge.toJavaTimeZone(notesTimeZone);
+    if (id == null) {
+      // Fall back to the rules described by the zone value itself
+      ZoneRules rules = NotesZoneRules.of(notesTimeZone);
+      if (rules == null) {
+        return UNKNOWN;
+      }
+      return new Entry(rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : null, rules);
+    }
+    ZoneId zid = ZoneId.of(id);
+    return new Entry(zid, ZoneCache.getRules(zid));
+  }
+
+  /**
+   * Returns the closest equivalent ZoneId for a Notes time zone field value,
+   * as per XHodgePodge.toZoneId.
+   * If the zone's name isn't known but it has a fixed offset, the ZoneOffset
+   * is returned.
+   * @param notesTimeZone the Notes time zone field value
+   * @return the ZoneId, or null if no conversion is known
+   */
+  public static ZoneId toZoneId(final String notesTimeZone) {
+    return lookup(notesTimeZone).zoneId;
+  }
+
+  /**
+   * Returns the rules of the closest equivalent ZoneId for a Notes time zone
+   * field value, or if the zone's name isn't known, the rules described by the
+   * value's own fields; see NotesZoneRules.
+   * @param notesTimeZone the Notes time zone field value
+   * @return the rules, or null if the value can't be understood at all
+   */
+  public static ZoneRules getRules(final String notesTimeZone) {
+    return lookup(notesTimeZone).rules;
+  }
+
+  /**
+   * Returns the number of lookups which found an entry in the cache.
+   * @return
+   */
+  public static long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of lookups which had to convert the zone string.
+   * @return
+   */
+  public static long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Sets the hit and miss counts back to zero.
+   */
+  public static void resetStatistics() {
+    hits.reset();
+    misses.reset();
+  }
+
+  /**
+   * Returns the number of zone strings in the cache.
+   * @return
+   */
+  public static int size() {
+    return entries.size();
+  }
+
+  /**
+   * Empties the cache, for example after the zone database has been updated.
+   * The statistics are left alone.
+   */
+  public static void clear() {
+    entries.clear();
+  }
+
+}
@@ -0,0 +1,292 @@
+package com.ibm.hodgepodge;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransitionRule;
+import java.time.zone.ZoneRules;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The table of Notes time zone names and their closest Java equivalents,
+ * used in both directions: by XHodgePodge.toJavaTimeZone to go from Notes to
+ * Java, and by XHodgePodge.toNotesTimeZone to go back.
+ *
+ * Notes time zone field values for the zones in the table are built once,
+ * when first needed, from the current rules of the Java zones. Other zones
+ * are matched to a zone in the table if they have the same rules (as
+ * aliases such as US/Eastern do), or failing that, have a value derived from
+ * their rules with the Java ID as the name. Those are cached as they're
+ * asked for, up to MAX_DERIVED of them.
+ */
+final class NotesZoneNames {
+
+  static final int MAX_DERIVED = 1024;
+
+  // Notes name to Java ID, in the order of the original table
+  private static final Map<String, String> NOTES_TO_JAVA = table();
+
+  private static final ConcurrentHashMap<ZoneId, String> derived = new ConcurrentHashMap<>();
+
+  private static Map<String, String> table() {
+    Map<String, String> m = new LinkedHashMap<>(256);
+    put(m, "Line Islands", "Etc/GMT-14");
+    put(m, "UTC+13", "Etc/GMT-13");
+    put(m, "Tonga", "Pacific/Tongatapu");
+    put(m, "Samoa", "Pacific/Samoa");
+    put(m, "Chatham Islands", "Pacific/Chatham");
+    put(m, "UTC+12", "Etc/GMT-12");
+    put(m, "Russia Time Zone 11", "Asia/Magadan");
+    put(m, "New Zealand", "Pacific/Auckland");
+    put(m, "Kamchatka", "Asia/Kamchatka");
+    put(m, "Fiji", "Pacific/Fiji");
+    put(m, "Sakhalin", "Asia/Sakhalin");
+    put(m, "Russia Time Zone 10", "Asia/Srednekolymsk");
+    put(m, "Norfolk", "Pacific/Norfolk");
+    put(m, "Magadan", "Asia/Magadan");
+    put(m, "Central Pacific", "Pacific/Efate");
+    put(m, "Bougainville", "Pacific/Bougainville");
+    put(m, "Lord Howe", "Australia/Lord_Howe");
+    put(m, "West Pacific", "Pacific/Guam");
+    put(m, "Vladivostok", "Asia/Vladivostok");
+    put(m, "Tasmania", "Australia/Tasmania");
+    put(m, "E. Australia", "Australia/Brisbane");
+    put(m, "AUS Eastern", "Australia/Melbourne");
+    put(m, "Cen. Australia", "Australia/Adelaide");
+    put(m, "AUS Central", "Australia/Darwin");
+    put(m, "Yakutsk", "Asia/Yakutsk");
+    put(m, "Transbaikal", "Asia/Chita");
+    put(m, "Tokyo", "Asia/Tokyo");
+    put(m, "Korea", "Asia/Seoul");
+    put(m, "Aus Central W.", "Australia/Eucla");
+    put(m, "North Korea", "Asia/Pyongyang");
+    put(m, "W. Australia", "Australia/Perth");
+    put(m, "Ulaanbaatar", "Asia/Ulaanbaatar");
+    put(m, "Taipei", "Asia/Taipei");
+    put(m, "Singapore", "Asia/Singapore");
+    put(m, "North Asia East", "Asia/Irkutsk");
+    put(m, "China", "Asia/Chongqing");
+    put(m, "W. Mongolia", "Asia/Hovd");
+    put(m, "Tomsk", "Asia/Novosibirsk");
+    put(m, "SE Asia", "Asia/Jakarta");
+    put(m, "North Asia", "Asia/Krasnoyarsk");
+    put(m, "N. Central Asia", "Asia/Novosibirsk");
+    put(m, "Altai", "Asia/Hovd");
+    put(m, "Myanmar", "Asia/Rangoon");
+    put(m, "Omsk", "Asia/Omsk");
+    put(m, "Central Asia", "Asia/Dacca");
+    put(m, "Bangladesh", "Asia/Dacca");
+    put(m, "Nepal", "Asia/Kathmandu");
+    put(m, "Sri Lanka", "Asia/Colombo");
+    put(m, "India", "Asia/Kolkata");
+    put(m, "West Asia", "Asia/Tashkent");
+    put(m, "Pakistan", "Asia/Karachi");
+    put(m, "Ekaterinburg", "Asia/Yekaterinburg");
+    put(m, "Afghanistan", "Asia/Kabul");
+    put(m, "Saratov", "Europe/Volgograd");
+    put(m, "Russia Time Zone 3", "Europe/Samara");
+    put(m, "Mauritius", "Indian/Mauritius");
+    put(m, "Georgian", "Asia/Tbilisi");
+    put(m, "Caucasus", "Asia/Yerevan");
+    put(m, "Azerbaijan", "Asia/Baku");
+    put(m, "Astrakhan", "Europe/Samara");
+    put(m, "Arabian", "Asia/Dubai");
+    put(m, "Iran", "Asia/Tehran");
+    put(m, "Turkey", "Europe/Istanbul");
+    put(m, "Russian", "Europe/Moscow");
+    put(m, "E. Africa", "Africa/Nairobi");
+    put(m, "Belarus", "Europe/Minsk");
+    put(m, "Arabic", "Asia/Baghdad");
+    put(m, "Arab", "Asia/Kuwait");
+    put(m, "West Bank", "Asia/Gaza");
+    put(m, "Syria", "Asia/Damascus");
+    put(m, "Sudan", "Africa/Khartoum");
+    put(m, "South Africa", "Africa/Harare");
+    put(m, "Namibia", "Africa/Windhoek");
+    put(m, "Middle East", "Asia/Beirut");
+    put(m, "Libya", "Africa/Tripoli");
+    put(m, "Kaliningrad", "Europe/Kaliningrad");
+    put(m, "Jordan", "Asia/Amman");
+    put(m, "Israel", "Asia/Tel_Aviv");
+    put(m, "GTB", "Europe/Istanbul");
+    put(m, "FLE", "Europe/Riga");
+    put(m, "Egypt", "Africa/Cairo");
+    put(m, "E. Europe", "Europe/Minsk");
+    put(m, "W. Europe", "Europe/Amsterdam");
+    put(m, "W. Central Africa", "Africa/Luanda");
+    put(m, "Central European", "Europe/Sarajevo");
+    put(m, "Romance", "Europe/Brussels");
+    put(m, "Central Europe", "Europe/Prague");
+    put(m, "UTC", "UTC");
+    put(m, "Morocco", "Africa/Casablanca");
+    put(m, "Greenwich", "Africa/Monrovia");
+    put(m, "GMT", "Europe/London");
+    put(m, "Cape Verde", "Atlantic/Cape_Verde");
+    put(m, "Azores", "Atlantic/Azores");
+    put(m, "UTC-02", "Etc/GMT+2");
+    put(m, "Mid-Atlantic", "Etc/GMT+2");
+    put(m, "Tocantins", "America/Araguaina");
+    put(m, "SA Eastern", "America/Cayenne");
+    put(m, "Saint Pierre", "America/Miquelon");
+    put(m, "Montevideo", "America/Montevideo");
+    put(m, "Magallanes", "America/Santiago");
+    put(m, "Greenland", "America/Danmarkshavn");
+    put(m, "E. South America", "America/Sao_Paulo");
+    put(m, "Bahia", "America/Bahia");
+    put(m, "Argentina", "America/Buenos_Aires");
+    put(m, "Newfoundland", "Canada/Newfoundland");
+    put(m, "Venezuela", "America/Caracas");
+    put(m, "SA Western", "America/La_Paz");
+    put(m, "Paraguay", "America/Asuncion");
+    put(m, "Pacific SA", "America/Santiago");
+    put(m, "Central Brazilian", "America/Cuiaba");
+    put(m, "Atlantic", "Canada/Atlantic");
+    put(m, "US Eastern", "America/Indiana/Indianapolis");
+    put(m, "Turks And Caicos", "America/Grand_Turk");
+    put(m, "SA Pacific", "America/Lima");
+    put(m, "Haiti", "America/Port-au-Prince");
+    put(m, "Eastern Standard Time (Mexico)", "America/Cancun");
+    put(m, "Eastern", "America/New_York");
+    put(m, "Cuba", "America/Havana");
+    put(m, "Easter Island", "Pacific/Easter");
+    put(m, "Central Standard Time (Mexico)", "America/Mexico_City");
+    put(m, "Central", "America/Chicago");
+    put(m, "Central America", "America/Costa_Rica");
+    put(m, "Canada Central", "America/Regina");
+    put(m, "US Mountain", "US/Arizona");
+    put(m, "Mountain Standard Time (Mexico)", "America/Chihuahua");
+    put(m, "Mountain", "America/Denver");
+    put(m, "UTC-08", "Etc/GMT+8");
+    put(m, "Pacific Standard Time (Mexico)", "America/Tijuana");
+    put(m, "Pacific", "America/Los_Angeles");
+    put(m, "UTC-09", "Etc/GMT+9");
+    put(m, "Alaskan", "US/Alaska");
+    put(m, "Marquesas", "Pacific/Marquesas");
+    put(m, "Hawaiian", "Pacific/Honolulu");
+    put(m, "Aleutian", "US/Aleutian");
+    put(m, "UTC-11", "Etc/GMT+11");
+    put(m, "Dateline", "Etc/GMT+12");
+    return Collections.unmodifiableMap(m);
+  }
+
+  private static void put(final Map<String, String> m, final String notesName, final String javaId) {
+    m.put(notesName, javaId);
+  }
+
+  // Built on first use, since it means loading the rules for every zone in the table
+  private static final class Reverse {
+    static final Map<ZoneId, String> BY_ZONE;
+    static final Map<ZoneRules, String> BY_RULES;
+
+    static {
+      Map<ZoneId, String> byZone = new HashMap<>(256);
+      Map<ZoneRules, String> byRules = new HashMap<>(256);
+      for (Map.Entry<String, String> e : NOTES_TO_JAVA.entrySet()) {
+        ZoneId zid = ZoneId.of(e.getValue());
+        // Where several Notes zones map to one Java zone, the first wins
+        if (!byZone.containsKey(zid)) {
+          String value = derive(zid.getRules(), e.getKey());
+          byZone.put(zid, value);
+          byRules.putIfAbsent(zid.getRules(), value);
+        }
+      }
+      BY_ZONE = byZone;
+      BY_RULES = byRules;
+    }
+  }
+
+  /**
+   * Returns the Java zone ID for a Notes time zone name, or null.
+   */
+  static String toJavaId(final String notesName) {
+    return NOTES_TO_JAVA.get(notesName);
+  }
+
+  /**
+   * Returns a Notes time zone field value for a ZoneId.
+   */
+  static String toNotesTimeZone(final ZoneId zid) {
+    String value = Reverse.BY_ZONE.get(zid);
+    if (value == null) {
+      value = derived.get(zid);
+      if (value == null) {
+        ZoneRules rules = zid.getRules();
+        value = Reverse.BY_RULES.get(rules);
+        if (value == null) {
+          value = derive(rules, zid.getId());
+        }
+        if (derived.size() >= MAX_DERIVED) {
+          derived.clear();
+        }
+        derived.putIfAbsent(zid, value);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Builds a Notes time zone field value from rules, as understood by
+   * NotesZoneRules. Zones whose daylight saving rules can't be expressed in
+   * Notes terms are given their current standard offset and no daylight
+   * saving time.
+   */
+  static String derive(final ZoneRules rules, final String name) {
+    StringBuilder sb = new StringBuilder(48);
+    sb.append("Z=").append(encodeOffset(rules.getStandardOffset(Instant.now())));
+    String dl = daylight(rules.getTransitionRules());
+    if (dl == null) {
+      sb.append("$DO=0");
+    } else {
+      sb.append("$DO=1$DL=").append(dl);
+    }
+    return sb.append("$ZN=").append(name).toString();
+  }
+
+  // Hours west of UTC, with the decimal point left out of fractions
+  private static String encodeOffset(final ZoneOffset offset) {
+    int west = -offset.getTotalSeconds();
+    if (west % 3600 == 0) {
+      return Integer.toString(west / 3600);
+    }
+    if (west % 1800 == 0) {
+      return Integer.toString(west / 360);
+    }
+    return Integer.toString(west / 36);
+  }
+
+  private static String daylight(final List<ZoneOffsetTransitionRule> lastRules) {
+    if (lastRules.size() != 2) {
+      return null;
+    }
+    ZoneOffsetTransitionRule start = lastRules.get(0);
+    ZoneOffsetTransitionRule end = lastRules.get(1);
+    if (start.getOffsetAfter().getTotalSeconds() < start.getOffsetBefore().getTotalSeconds()) {
+      ZoneOffsetTransitionRule t = start;
+      start = end;
+      end = t;
+    }
+    String s = transition(start);
+    String e = transition(end);
+    return s == null || e == null ? null : s + " " + e;
+  }
+
+  private static String transition(final ZoneOffsetTransitionRule rule) {
+    DayOfWeek dow = rule.getDayOfWeek();
+    if (dow == null) {
+      return null;
+    }
+    int dom = rule.getDayOfMonthIndicator();
+    // The zone database writes "last Sunday" as the Sunday on or after the 25th
+    boolean last = dom < 0 || dom + 6 >= rule.getMonth().maxLength();
+    int week = last ? -1 : (dom - 1) / 7 + 1;
+    int day = dow == DayOfWeek.SUNDAY ? 1 : dow.getValue() + 1;
+    return rule.getMonth().getValue() + " " + week + " " + day;
+  }
+
+}
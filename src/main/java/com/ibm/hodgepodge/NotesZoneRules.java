@@ -0,0 +1,220 @@
+package com.ibm.hodgepodge;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneOffsetTransitionRule;
+import java.time.zone.ZoneOffsetTransitionRule.TimeDefinition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds ZoneRules from the fields of a Notes time zone field value, for
+ * zones whose ZN= name isn't one toJavaTimeZone knows about.
+ *
+ * A Notes time zone value looks like
+ * "Z=5$DO=1$DL=3 2 1 11 1 1$ZX=9$ZN=Eastern", where:
+ *
+ * <ul>
+ * <li>Z is the standard offset in hours, positive west of UTC. Fractional
+ * offsets have the decimal point left out, so India's 5.5 hours east is
+ * written -55, and Nepal's 5.75 hours east is -575.</li>
+ * <li>DO is 1 if the zone observes daylight saving time.</li>
+ * <li>DL gives the daylight saving period as start month, week and day
+ * followed by end month, week and day. Week -1 means the last week of the
+ * month, and day 1 is Sunday; so "3 2 1 11 1 1" means from the second Sunday
+ * in March to the first Sunday in November.</li>
+ * <li>ZX and ZN identify the zone in Notes' own table, and are ignored.</li>
+ * </ul>
+ *
+ * Notes doesn't record the time of day at which daylight saving starts and
+ * ends, so the rules assume 02:00 local time for both, and a one hour shift.
+ * Notes only records the current rules too, so they're applied to all years.
+ *
+ * Rules are interned by their fields, so zone values which differ only in
+ * name share the same ZoneRules. The intern table is bounded, and cleared if
+ * it ever holds more than MAX_SIZE entries.
+ */
+public class NotesZoneRules {
+
+  /**
+   * The maximum number of distinct rules remembered.
+   */
+  public static final int MAX_SIZE = 1024;
+
+  // ZoneRules only applies its last rules after at least one transition, so
+  // seed it with the transitions for an early year
+  private static final int SEED_YEAR = 1900;
+
+  private static final LocalTime TRANSITION_TIME = LocalTime.of(2, 0);
+
+  private static final ConcurrentHashMap<String, ZoneRules> interned = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the rules described by a Notes time zone field value. The same
+   * ZoneRules object is returned for values with the same Z, DO and DL fields.
+   * @param notesTimeZone the Notes time zone field value
+   * @return the rules, or null if the value has no valid Z field
+   */
+  public static ZoneRules of(final String notesTimeZone) {
+    String z = field(notesTimeZone, "Z");
+    if (z == null) {
+      return null;
+    }
+    String dl = "1".equals(field(notesTimeZone, "DO")) ? field(notesTimeZone, "DL") : null;
+    String key = dl == null ? z : z + '$' + dl;
+    ZoneRules rules = interned.get(key);
+    if (rules == null) {
+      rules = build(z, dl);
+      if (rules == null) {
+        return null;
+      }
+      if (interned.size() >= MAX_SIZE) {
+        interned.clear();
+      }
+      ZoneRules old = interned.putIfAbsent(key, rules);
+      if (old != null) {
+        rules = old;
+      }
+    }
+    return rules;
+  }
+
+  /**
+   * Returns the standard offset from UTC given by the Z field of a Notes time
+   * zone field value.
+   * @param notesTimeZone the Notes time zone field value
+   * @return the offset, or null if the value has no valid Z field
+   */
+  public static ZoneOffset standardOffset(final String notesTimeZone) {
+    String z = field(notesTimeZone, "Z");
+    return z == null ? null : parseOffset(z);
+  }
+
+  /**
+   * Combines a LocalDateTime with rules to give a ZonedDateTime, resolving
+   * gaps and overlaps the same way as LocalDateTime.atZone. Since the rules
+   * don't belong to a ZoneId, the result's zone is the offset in effect.
+   * @param ldt the local date and time
+   * @param rules the rules to apply
+   * @return
+   */
+  public static ZonedDateTime atZone(final LocalDateTime ldt, final ZoneRules rules) {
+    List<ZoneOffset> valid = rules.getValidOffsets(ldt);
+    if (valid.size() == 1) {
+      return ZonedDateTime.ofLocal(ldt, valid.get(0), null);
+    }
+    if (valid.isEmpty()) {
+      // In a gap: move forward by the length of the gap
+      ZoneOffsetTransition trans = rules.getTransition(ldt);
+      ZoneOffset after = trans.getOffsetAfter();
+      return ZonedDateTime.ofLocal(ldt.plusSeconds(trans.getDuration().getSeconds()), after, null);
+    }
+    // In an overlap: use the earlier offset
+    return ZonedDateTime.ofLocal(ldt, valid.get(0), null);
+  }
+
+  // Finds the value of a NAME=value field, without the $ separator
+  private static String field(final String notesTimeZone, final String name) {
+    int start = 0;
+    int len = notesTimeZone.length();
+    while (start < len) {
+      int end = notesTimeZone.indexOf('$', start);
+      if (end < 0) {
+        end = len;
+      }
+      int nl = name.length();
+      if (end - start > nl && notesTimeZone.charAt(start + nl) == '='
+          && notesTimeZone.regionMatches(start, name, 0, nl)) {
+        return notesTimeZone.substring(start + nl + 1, end).trim();
+      }
+      start = end + 1;
+    }
+    return null;
+  }
+
+  private static ZoneOffset parseOffset(final String z) {
+    int value;
+    try {
+      value = Integer.parseInt(z);
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+    int a = Math.abs(value);
+    double hours = a <= 14 ? a : a < 150 ? a / 10.0 : a / 100.0;
+    // Round to the nearest quarter hour
+    int seconds = (int) Math.round(hours * 4) * 900;
+    if (seconds > 18 * 3600) {
+      return null;
+    }
+    // Notes counts hours west of UTC
+    return ZoneOffset.ofTotalSeconds(value > 0 ? -seconds : seconds);
+  }
+
+  private static ZoneRules build(final String z, final String dl) {
+    ZoneOffset std = parseOffset(z);
+    if (std == null) {
+      return null;
+    }
+    int[] p = dl == null ? null : parseDaylight(dl);
+    if (p == null) {
+      return ZoneRules.of(std);
+    }
+    ZoneOffset dst = ZoneOffset.ofTotalSeconds(std.getTotalSeconds() + 3600);
+    ZoneOffsetTransitionRule start = rule(p[0], p[1], p[2], std, std, dst);
+    ZoneOffsetTransitionRule end = rule(p[3], p[4], p[5], std, dst, std);
+    // Southern hemisphere zones are on daylight saving time at the start of the year
+    boolean southern = p[0] > p[3];
+    List<ZoneOffsetTransitionRule> lastRules = new ArrayList<>(2);
+    lastRules.add(southern ? end : start);
+    lastRules.add(southern ? start : end);
+    List<ZoneOffsetTransition> seed = new ArrayList<>(2);
+    for (ZoneOffsetTransitionRule r : lastRules) {
+      seed.add(r.createTransition(SEED_YEAR));
+    }
+    return ZoneRules.of(std, southern ? dst : std, Collections.<ZoneOffsetTransition>emptyList(), seed, lastRules);
+  }
+
+  // Parses the six numbers of a DL field, or returns null if they're not valid
+  private static int[] parseDaylight(final String dl) {
+    String[] parts = dl.trim().split("\\s+");
+    if (parts.length != 6) {
+      return null;
+    }
+    int[] p = new int[6];
+    try {
+      for (int i = 0; i < 6; i++) {
+        p[i] = Integer.parseInt(parts[i]);
+      }
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+    for (int i = 0; i < 6; i += 3) {
+      if (p[i] < 1 || p[i] > 12 || p[i + 1] == 0 || p[i + 1] < -1 || p[i + 1] > 5 || p[i + 2] < 1 || p[i + 2] > 7) {
+        return null;
+      }
+    }
+    if (p[0] == p[3]) {
+      return null;
+    }
+    return p;
+  }
+
+  private static ZoneOffsetTransitionRule rule(final int month, final int week, final int day,
+      final ZoneOffset std, final ZoneOffset before, final ZoneOffset after) {
+    // Notes days run from 1 for Sunday to 7 for Saturday
+    DayOfWeek dow = day == 1 ? DayOfWeek.SUNDAY : DayOfWeek.of(day - 1);
+    // Weeks 1 to 4 count from the start of the month; -1 or 5 mean the last
+    int dayOfMonthIndicator = week == -1 || week == 5 ? -1 : 1 + (week - 1) * 7;
+    return ZoneOffsetTransitionRule.of(Month.of(month), dayOfMonthIndicator, dow, TRANSITION_TIME, false,
+        TimeDefinition.WALL, std, before, after);
+  }
+
+}
@@ -0,0 +1,193 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Converts large arrays and lists of values in parallel, using a fork/join
+ * pool. The input is split into index ranges, and each range is converted
+ * into the same positions of the output, so element order is preserved.
+ *
+ * Inputs no longer than the threshold are converted sequentially on the
+ * calling thread, since below a certain size the cost of forking outweighs
+ * the conversion work.
+ *
+ * Null elements are converted to null without calling the conversion
+ * function. The conversion function must be safe to call from several
+ * threads at once; all the HodgePodge conversions are.
+ */
+public class ParallelHodgePodge {
+
+  /**
+   * The default number of elements below which work is not split further.
+   */
+  public static final int DEFAULT_THRESHOLD = 8192;
+
+  private final ForkJoinPool pool;
+  private final int threshold;
+
+  /**
+   * Creates a converter which uses the common fork/join pool and the default threshold.
+   */
+  public ParallelHodgePodge() {
+    this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Creates a converter which uses the specified pool and threshold.
+   * @param pool the ForkJoinPool to run conversions in
+   * @param threshold the number of elements below which conversion is sequential
+   */
+  public ParallelHodgePodge(final ForkJoinPool pool, final int threshold) {
+    if (threshold < 1) {
+      throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+    }
+    this.pool = pool;
+    this.threshold = threshold;
+  }
+
+  /**
+   * Converts an array of values using the specified function, writing the
+   * results into the output array.
+   * @param in the values to convert
+   * @param out the array to receive the results, at least as long as in
+   * @param fn the conversion, for example HodgePodge::toInstant
+   */
+  public <S, T> void convert(final S[] in, final T[] out, final Function<? super S, ? extends T> fn) {
+    if (out.length < in.length) {
+      throw new IllegalArgumentException("Output array has length " + out.length + ", need at least " + in.length);
+    }
+    this.run(in, out, fn);
+  }
+
+  /**
+   * Converts a list of values using the specified function.
+   * @param in the values to convert
+   * @param fn the conversion, for example HodgePodge::toInstant
+   * @return an unmodifiable list of the results, in the same order
+   */
+  @SuppressWarnings("unchecked")
+  public <S, T> List<T> convert(final List<? extends S> in, final Function<? super S, ? extends T> fn) {
+    Object[] src = in.toArray();
+    Object[] dst = new Object[src.length];
+    this.run(src, dst, (Function<Object, ? extends T>) fn);
+    return Collections.unmodifiableList((List<T>) Arrays.asList(dst));
+  }
+
+  private <S, T> void run(final Object[] in, final Object[] out, final Function<? super S, ? extends T> fn) {
+    ConvertTask<S, T> task = new ConvertTask<>(in, out, 0, in.length, fn, this.threshold);
+    if (in.length <= this.threshold) {
+      task.compute();
+    } else {
+      this.pool.invoke(task);
+    }
+  }
+
+  /**
+   * Converts an array of Dates to Instants.
+   * @param in the Dates to convert
+   * @return
+   */
+  public Instant[] toInstants(final Date[] in) {
+    Instant[] out = new Instant[in.length];
+    this.convert(in, out, HodgePodge::toInstant);
+    return out;
+  }
+
+  /**
+   * Converts a list of Dates to Instants.
+   * @param in the Dates to convert
+   * @return
+   */
+  public List<Instant> toInstants(final List<? extends Date> in) {
+    return this.convert(in, HodgePodge::toInstant);
+  }
+
+  /**
+   * Converts an array of Dates to LocalDates, in UTC.
+   * @param in the Dates to convert
+   * @return
+   */
+  public LocalDate[] toLocalDates(final Date[] in) {
+    LocalDate[] out = new LocalDate[in.length];
+    this.convert(in, out, HodgePodge::toLocalDate);
+    return out;
+  }
+
+  /**
+   * Converts an array of Dates to LocalDateTimes, in UTC.
+   * @param in the Dates to convert
+   * @return
+   */
+  public LocalDateTime[] toLocalDateTimes(final Date[] in) {
+    LocalDateTime[] out = new LocalDateTime[in.length];
+    this.convert(in, out, HodgePodge::toLocalDateTime);
+    return out;
+  }
+
+  /**
+   * Converts a list of Calendars to ZonedDateTimes.
+   * @param in the Calendars to convert
+   * @return
+   */
+  public List<ZonedDateTime> toZonedDateTimes(final List<? extends Calendar> in) {
+    return this.convert(in, HodgePodge::toZonedDateTime);
+  }
+
+  /**
+   * Converts a list of Calendars to LocalDateTimes, in each Calendar's time zone.
+   * @param in the Calendars to convert
+   * @return
+   */
+  public List<LocalDateTime> toLocalDateTimes(final List<? extends Calendar> in) {
+    return this.convert(in, HodgePodge::toLocalDateTime);
+  }
+
+  private static final class ConvertTask<S, T> extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] in;
+    private final Object[] out;
+    private final int from;
+    private final int to;
+    private final Function<? super S, ? extends T> fn;
+    private final int threshold;
+
+    ConvertTask(final Object[] in, final Object[] out, final int from, final int to,
+        final Function<? super S, ? extends T> fn, final int threshold) {
+      this.in = in;
+      this.out = out;
+      this.from = from;
+      this.to = to;
+      this.fn = fn;
+      this.threshold = threshold;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void compute() {
+      if (this.to - this.from <= this.threshold) {
+        for (int i = this.from; i < this.to; i++) {
+          Object x = this.in[i];
+          this.out[i] = x == null ? null : this.fn.apply((S) x);
+        }
+        return;
+      }
+      int mid = (this.from + this.to) >>> 1;
+      invokeAll(new ConvertTask<S, T>(this.in, this.out, this.from, mid, this.fn, this.threshold),
+          new ConvertTask<S, T>(this.in, this.out, mid, this.to, this.fn, this.threshold));
+    }
+  }
+
+}
@@ -0,0 +1,56 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The conversions which newer Java releases can do more cheaply. This is the
+ * Java 8 version; the multi-release JAR also contains versions for Java 9
+ * (under src/main/java9) and Java 21 (under src/main/java21), which the JVM
+ * picks up in preference to this one. All versions must have the same
+ * methods and behave the same way.
+ */
+final class Platform {
+
+  private static final int SECONDS_PER_DAY = 86400;
+
+  private Platform() {
+  }
+
+  /**
+   * Converts an Instant to the date in a time zone, as per
+   * LocalDate.ofInstant in Java 9.
+   * @param ins the Instant
+   * @param zone the time zone
+   * @return
+   */
+  static LocalDate toLocalDate(final Instant ins, final ZoneId zone) {
+    long local = ins.getEpochSecond() + ZoneCache.getRules(zone).getOffset(ins).getTotalSeconds();
+    return LocalDate.ofEpochDay(Math.floorDiv(local, SECONDS_PER_DAY));
+  }
+
+  /**
+   * Converts an Instant to the time of day in a time zone, as per
+   * LocalTime.ofInstant in Java 9.
+   * @param ins the Instant
+   * @param zone the time zone
+   * @return
+   */
+  static LocalTime toLocalTime(final Instant ins, final ZoneId zone) {
+    long local = ins.getEpochSecond() + ZoneCache.getRules(zone).getOffset(ins).getTotalSeconds();
+    return LocalTime.ofNanoOfDay(Math.floorMod(local, SECONDS_PER_DAY) * 1000000000L + ins.getNano());
+  }
+
+  /**
+   * Creates an executor which runs each task on a new virtual thread, as per
+   * Executors.newVirtualThreadPerTaskExecutor in Java 21.
+   * @return the executor, or null if virtual threads aren't available
+   */
+  static ExecutorService newVirtualThreadExecutor() {
+    return null;
+  }
+
+}
@@ -0,0 +1,159 @@
+package com.ibm.hodgepodge;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs tasks one at a time, in the order they were submitted, on another
+ * Executor. AsyncXHodgePodge uses one per Session, so that calls on a
+ * Session's objects never overlap, while different Sessions' tasks run in
+ * parallel.
+ *
+ * While there are tasks waiting, a single drain loop runs them back to back
+ * on one of the underlying executor's threads. If the underlying executor is
+ * saturated and runs the loop on the submitting thread instead, as with a
+ * caller-runs policy, the submitter runs just the task at the head of the
+ * queue and offers the loop to the executor once more. If that's refused
+ * too, the SerialExecutor is parked on a queue shared by all the
+ * SerialExecutors of a converter, and resumed either by the next submission
+ * for it or by the next of the converter's drain loops to finish on the
+ * executor's threads -- a caller-runs refusal means the executor's queue is
+ * full, so there's always one coming. So a submitter never runs more than one
+ * task, and never other submitters' tasks one after another.
+ *
+ * If the executor refuses by throwing RejectedExecutionException, usually
+ * because it has been shut down, nothing else may ever run the loop, so the
+ * submitter runs all the waiting tasks itself. Tasks that have been accepted
+ * are always run.
+ *
+ * Tasks must not throw; AsyncXHodgePodge's tasks complete their futures
+ * instead.
+ */
+final class SerialExecutor implements Executor {
+
+  private final Executor executor;
+  private final Queue<SerialExecutor> stalled;
+  private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+  // Some thread owns the drain loop, or it's parked
+  private boolean running;
+  // The loop is waiting on the stalled queue for a thread to run it
+  private boolean parked;
+
+  SerialExecutor(final Executor executor, final Queue<SerialExecutor> stalled) {
+    this.executor = executor;
+    this.stalled = stalled;
+  }
+
+  @Override
+  public void execute(final Runnable task) {
+    synchronized (this) {
+      this.tasks.add(task);
+      if (this.running && !this.parked) {
+        return;
+      }
+      // Start the loop, or take over a parked one
+      this.running = true;
+      this.parked = false;
+    }
+    if (this.offer()) {
+      return;
+    }
+    // Saturated: run one task here, then offer the loop once more
+    Runnable next;
+    synchronized (this) {
+      next = this.tasks.poll();
+    }
+    next.run();
+    synchronized (this) {
+      if (this.tasks.isEmpty()) {
+        this.running = false;
+        return;
+      }
+    }
+    if (this.offer()) {
+      return;
+    }
+    synchronized (this) {
+      this.parked = true;
+    }
+    this.stalled.add(this);
+  }
+
+  // Hands the drain loop to the executor. Returns false if it was run on
+  // this thread, which leaves the loop with the caller.
+  private boolean offer() {
+    Handoff handoff = new Handoff();
+    try {
+      this.executor.execute(handoff);
+    } catch (RejectedExecutionException ex) {
+      this.drain();
+      return true;
+    }
+    handoff.submitting = false;
+    return !handoff.refused;
+  }
+
+  // The drain loop as given to the executor. A caller-runs executor runs it
+  // on the submitting thread before execute returns, which counts as refusing it.
+  private final class Handoff implements Runnable {
+
+    private final Thread submitter = Thread.currentThread();
+    volatile boolean submitting = true;
+    boolean refused;
+
+    @Override
+    public void run() {
+      if (this.submitting && Thread.currentThread() == this.submitter) {
+        this.refused = true;
+        return;
+      }
+      SerialExecutor.this.drain();
+      resumeStalled(SerialExecutor.this.stalled);
+    }
+
+  }
+
+  /**
+   * Runs the drain loops of any parked SerialExecutors on the current
+   * thread. Only call this from one of the executor's own threads.
+   * @param stalled the queue of parked SerialExecutors
+   */
+  static void resumeStalled(final Queue<SerialExecutor> stalled) {
+    SerialExecutor serial;
+    while ((serial = stalled.poll()) != null) {
+      synchronized (serial) {
+        // It may have been taken over by a submitter since it was parked
+        if (!serial.parked) {
+          continue;
+        }
+        serial.parked = false;
+      }
+      serial.drain();
+    }
+  }
+
+  private void drain() {
+    for (;;) {
+      Runnable task;
+      synchronized (this) {
+        task = this.tasks.poll();
+        if (task == null) {
+          this.running = false;
+          return;
+        }
+      }
+      task.run();
+    }
+  }
+
+  /**
+   * Returns true if no tasks are waiting or running.
+   * @return
+   */
+  synchronized boolean isIdle() {
+    return !this.running;
+  }
+
+}
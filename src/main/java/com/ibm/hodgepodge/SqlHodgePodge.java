@@ -0,0 +1,133 @@
+package com.ibm.hodgepodge;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Conversions between the java.sql date and time classes and the Java 1.8+
+ * java.time classes.
+ *
+ * java.sql.Timestamp is a subclass of java.util.Date, so you can pass one to
+ * the HodgePodge methods, but the nanoseconds will be lost because Date only
+ * has millisecond precision. The Timestamp conversions here keep the full
+ * nanosecond value.
+ *
+ * As with HodgePodge, values are assumed to be UTC: a java.sql.Date is taken
+ * to represent the calendar date on which its time falls in UTC, and a
+ * java.sql.Time the UTC time of day. Note that this differs from the
+ * toLocalDate and toLocalTime methods on the java.sql classes themselves,
+ * which use the system default time zone.
+ */
+public class SqlHodgePodge {
+
+  /**
+   * Converts a Timestamp to an Instant, keeping nanoseconds.
+   * @param ts the Timestamp to convert
+   * @return
+   */
+  public final static Instant toInstant (final Timestamp ts) {
+    return Instant.ofEpochSecond(Math.floorDiv(ts.getTime(), 1000L), ts.getNanos());
+  }
+
+  /**
+   * Converts a Timestamp to a LocalDateTime in UTC, keeping nanoseconds.
+   * @param ts the Timestamp to convert
+   * @return
+   */
+  public final static LocalDateTime toLocalDateTime (final Timestamp ts) {
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(ts.getTime(), 1000L), ts.getNanos(), ZoneOffset.UTC);
+  }
+
+  /**
+   * Converts a Timestamp to a ZonedDateTime in UTC, keeping nanoseconds.
+   * @param ts the Timestamp to convert
+   * @return
+   */
+  public final static ZonedDateTime toZonedDateTime (final Timestamp ts) {
+    return ZonedDateTime.of(toLocalDateTime(ts), ZoneOffset.UTC);
+  }
+
+  /**
+   * Converts an Instant to a Timestamp, keeping nanoseconds.
+   * @param ins the Instant to convert
+   * @return
+   */
+  public final static Timestamp toTimestamp (final Instant ins) {
+    return toTimestamp(ins.getEpochSecond(), ins.getNano());
+  }
+
+  /**
+   * Converts a LocalDateTime, which is assumed to be UTC, to a Timestamp,
+   * keeping nanoseconds.
+   * @param ldt the LocalDateTime to convert
+   * @return
+   */
+  public final static Timestamp toTimestamp (final LocalDateTime ldt) {
+    return toTimestamp(ldt.toEpochSecond(ZoneOffset.UTC), ldt.getNano());
+  }
+
+  /**
+   * Converts a ZonedDateTime to a Timestamp, keeping nanoseconds.
+   * @param zdt the ZonedDateTime to convert
+   * @return
+   */
+  public final static Timestamp toTimestamp (final ZonedDateTime zdt) {
+    return toTimestamp(zdt.toEpochSecond(), zdt.getNano());
+  }
+
+  /**
+   * Creates a Timestamp from epoch seconds and nanoseconds.
+   * @param epochSecond seconds since 1970-01-01T00:00:00Z
+   * @param nanos nanoseconds within the second
+   * @return
+   */
+  public final static Timestamp toTimestamp (final long epochSecond, final int nanos) {
+    Timestamp ts = new Timestamp(Math.multiplyExact(epochSecond, 1000L));
+    ts.setNanos(nanos);
+    return ts;
+  }
+
+  /**
+   * Converts a java.sql.Date to the LocalDate it falls on in UTC.
+   * @param d the java.sql.Date to convert
+   * @return
+   */
+  public final static LocalDate toLocalDate (final java.sql.Date d) {
+    return EpochHodgePodge.toLocalDate(d.getTime());
+  }
+
+  /**
+   * Converts a LocalDate to a java.sql.Date at the start of that day in UTC.
+   * @param ld the LocalDate to convert
+   * @return
+   */
+  public final static java.sql.Date toSqlDate (final LocalDate ld) {
+    return new java.sql.Date(EpochHodgePodge.toEpochMilli(ld));
+  }
+
+  /**
+   * Converts a java.sql.Time to a LocalTime in UTC.
+   * @param t the Time to convert
+   * @return
+   */
+  public final static LocalTime toLocalTime (final Time t) {
+    return EpochHodgePodge.toLocalTime(t.getTime());
+  }
+
+  /**
+   * Converts a LocalTime to a java.sql.Time on 1970-01-01 UTC. Precision
+   * beyond milliseconds is lost.
+   * @param lt the LocalTime to convert
+   * @return
+   */
+  public final static Time toSqlTime (final LocalTime lt) {
+    return new Time(lt.toNanoOfDay() / 1000000L);
+  }
+
+}
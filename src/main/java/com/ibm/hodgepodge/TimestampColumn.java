@@ -0,0 +1,200 @@
+package com.ibm.hodgepodge;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Accumulates the values of a date/time column of a JDBC ResultSet as
+ * primitive epoch seconds and nanoseconds, keeping full Timestamp precision,
+ * so that the whole column can be converted to arrays in one go afterwards.
+ *
+ * You can either let readAll step through the ResultSet for you, or call
+ * read on each row from your own loop, which allows several columns (and
+ * other non-date columns) to be collected in a single pass:
+ *
+ * <pre>
+ * TimestampColumn created = new TimestampColumn(2);
+ * TimestampColumn modified = new TimestampColumn(3);
+ * while (rs.next()) {
+ *   created.read(rs);
+ *   modified.read(rs);
+ * }
+ * Instant[] c = created.toInstants();
+ * </pre>
+ *
+ * JDBC offers no way to fetch a timestamp without a Timestamp object, so one
+ * is still created per row by the driver, but nothing else is; the values
+ * are copied out of it straight away and it becomes garbage immediately.
+ * SQL NULLs are remembered and come out as null in the object arrays.
+ *
+ * Not thread safe.
+ */
+public final class TimestampColumn {
+
+  private static final int NULL_NANOS = -1;
+
+  private final int column;
+  private long[] seconds;
+  private int[] nanos;
+  private int size;
+
+  /**
+   * Creates a collector for the specified column.
+   * @param column the 1-based column index
+   */
+  public TimestampColumn(final int column) {
+    this(column, 64);
+  }
+
+  /**
+   * Creates a collector for the specified column.
+   * @param column the 1-based column index
+   * @param initialCapacity the number of rows to allocate space for
+   */
+  public TimestampColumn(final int column, final int initialCapacity) {
+    this.column = column;
+    this.seconds = new long[Math.max(initialCapacity, 1)];
+    this.nanos = new int[this.seconds.length];
+  }
+
+  /**
+   * Reads every remaining row of a ResultSet into the specified columns.
+   * @param rs the ResultSet, positioned before the first row to read
+   * @param columns the columns to collect
+   * @return the number of rows read
+   * @throws SQLException
+   */
+  public static int readAll(final ResultSet rs, final TimestampColumn... columns) throws SQLException {
+    int rows = 0;
+    while (rs.next()) {
+      for (TimestampColumn col : columns) {
+        col.read(rs);
+      }
+      rows++;
+    }
+    return rows;
+  }
+
+  /**
+   * Reads this column from the current row of a ResultSet.
+   * @param rs the ResultSet
+   * @throws SQLException
+   */
+  public void read(final ResultSet rs) throws SQLException {
+    Timestamp ts = rs.getTimestamp(this.column);
+    if (this.size == this.seconds.length) {
+      int cap = this.size * 2;
+      this.seconds = Arrays.copyOf(this.seconds, cap);
+      this.nanos = Arrays.copyOf(this.nanos, cap);
+    }
+    if (ts == null) {
+      this.seconds[this.size] = 0;
+      this.nanos[this.size] = NULL_NANOS;
+    } else {
+      this.seconds[this.size] = Math.floorDiv(ts.getTime(), 1000L);
+      this.nanos[this.size] = ts.getNanos();
+    }
+    this.size++;
+  }
+
+  /**
+   * Returns the number of rows read.
+   * @return
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns whether the value in a row was SQL NULL.
+   * @param row the 0-based row number, in the order read
+   * @return
+   */
+  public boolean isNull(final int row) {
+    return this.nanos[row] == NULL_NANOS;
+  }
+
+  /**
+   * Discards the values read so far, keeping the allocated space.
+   */
+  public void clear() {
+    this.size = 0;
+  }
+
+  /**
+   * Returns the values as epoch milliseconds, which loses any precision
+   * beyond milliseconds.
+   * @param nullValue the value to use for SQL NULLs
+   * @return
+   */
+  public long[] toEpochMillis(final long nullValue) {
+    long[] out = new long[this.size];
+    for (int i = 0; i < this.size; i++) {
+      int n = this.nanos[i];
+      out[i] = n == NULL_NANOS ? nullValue : this.seconds[i] * 1000L + n / 1000000;
+    }
+    return out;
+  }
+
+  /**
+   * Returns the values as epoch seconds; see toNanos for the rest of each value.
+   * SQL NULLs are returned as zero.
+   * @return
+   */
+  public long[] toEpochSeconds() {
+    return Arrays.copyOf(this.seconds, this.size);
+  }
+
+  /**
+   * Returns the nanoseconds within the second of each value. SQL NULLs are returned as -1.
+   * @return
+   */
+  public int[] toNanos() {
+    return Arrays.copyOf(this.nanos, this.size);
+  }
+
+  /**
+   * Returns the values as Instants.
+   * @return
+   */
+  public Instant[] toInstants() {
+    Instant[] out = new Instant[this.size];
+    for (int i = 0; i < this.size; i++) {
+      int n = this.nanos[i];
+      out[i] = n == NULL_NANOS ? null : Instant.ofEpochSecond(this.seconds[i], n);
+    }
+    return out;
+  }
+
+  /**
+   * Returns the values as LocalDateTimes in UTC.
+   * @return
+   */
+  public LocalDateTime[] toLocalDateTimes() {
+    LocalDateTime[] out = new LocalDateTime[this.size];
+    for (int i = 0; i < this.size; i++) {
+      int n = this.nanos[i];
+      out[i] = n == NULL_NANOS ? null : LocalDateTime.ofEpochSecond(this.seconds[i], n, ZoneOffset.UTC);
+    }
+    return out;
+  }
+
+  /**
+   * Returns the values as the LocalDates they fall on in UTC.
+   * @return
+   */
+  public LocalDate[] toLocalDates() {
+    LocalDate[] out = new LocalDate[this.size];
+    for (int i = 0; i < this.size; i++) {
+      out[i] = this.nanos[i] == NULL_NANOS ? null : LocalDate.ofEpochDay(Math.floorDiv(this.seconds[i], 86400L));
+    }
+    return out;
+  }
+
+}
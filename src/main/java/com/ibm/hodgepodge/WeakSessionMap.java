@@ -0,0 +1,145 @@
+package com.ibm.hodgepodge;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lotus.domino.Session;
+
+/**
+ * A concurrent map from Sessions to values, which holds the Sessions weakly,
+ * so that caching something per Session doesn't keep it from being garbage
+ * collected. Sessions are compared by identity.
+ *
+ * Lookups don't lock, unlike a synchronized WeakHashMap. Entries for
+ * Sessions which have been collected are purged whenever a value is added.
+ */
+final class WeakSessionMap<V> {
+
+  // Both kinds of key compare equal if they refer to the same Session
+  private interface Key {
+    Object session();
+  }
+
+  private static final class WeakKey extends WeakReference<Session> implements Key {
+
+    private final int hash;
+
+    WeakKey(final Session session, final ReferenceQueue<Session> queue) {
+      super(session, queue);
+      this.hash = System.identityHashCode(session);
+    }
+
+    @Override
+    public Object session() {
+      return this.get();
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (o == this) {
+        return true;
+      }
+      Object session = this.get();
+      return session != null && o instanceof Key && ((Key) o).session() == session;
+    }
+
+  }
+
+  // For lookups, so they needn't create a WeakReference
+  private static final class Lookup implements Key {
+
+    private final Session session;
+
+    Lookup(final Session session) {
+      this.session = session;
+    }
+
+    @Override
+    public Object session() {
+      return this.session;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(this.session);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      return o instanceof Key && ((Key) o).session() == this.session;
+    }
+
+  }
+
+  private final ConcurrentHashMap<Key, V> map = new ConcurrentHashMap<>();
+  private final ReferenceQueue<Session> queue = new ReferenceQueue<>();
+
+  /**
+   * Returns the value for a Session, or null if there isn't one.
+   * @param session the Session
+   * @return
+   */
+  V get(final Session session) {
+    return this.map.get(new Lookup(session));
+  }
+
+  /**
+   * Sets the value for a Session.
+   * @param session the Session
+   * @param value the value
+   */
+  void put(final Session session, final V value) {
+    this.purge();
+    this.map.put(new WeakKey(session, this.queue), value);
+  }
+
+  /**
+   * Removes the value for a Session.
+   * @param session the Session
+   * @return the value removed, or null if there wasn't one
+   */
+  V remove(final Session session) {
+    return this.map.remove(new Lookup(session));
+  }
+
+  /**
+   * Returns true if there's a value for a Session.
+   * @param session the Session
+   * @return
+   */
+  boolean containsKey(final Session session) {
+    return this.map.containsKey(new Lookup(session));
+  }
+
+  /**
+   * Returns the number of entries, including any for Sessions which have
+   * been collected but not yet purged.
+   * @return
+   */
+  int size() {
+    return this.map.size();
+  }
+
+  /**
+   * Removes all the entries.
+   */
+  void clear() {
+    this.map.clear();
+  }
+
+  // A cleared WeakKey is only equal to itself, so it's removed by identity
+  private void purge() {
+    Reference<? extends Session> ref;
+    while ((ref = this.queue.poll()) != null) {
+      this.map.remove(ref);
+    }
+  }
+
+}
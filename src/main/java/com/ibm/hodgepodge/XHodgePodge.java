@@ -1,5 +1,6 @@
 package com.ibm.hodgepodge;
 
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -9,10 +10,15 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.zone.ZoneRules;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lotus.domino.DateTime;
 import lotus.domino.International;
@@ -25,7 +31,17 @@ import lotus.domino.Session;
  */
 public class XHodgePodge {
 
-  private static DateTimeFormatter localFormat;
+  // Compiled formatters, keyed by the International settings they're for
+  private static final ConcurrentHashMap<NotesFormatKey, DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+
+  // Parsers, keyed by the International settings they're for
+  private static final ConcurrentHashMap<NotesFormatKey, NotesDateTimeLayout> layouts = new ConcurrentHashMap<>();
+
+  // Offsets learned from previous toOffsetDateTime conversions
+  private static final NotesOffsetCache offsets = new NotesOffsetCache(NotesOffsetCache.DEFAULT_SIZE);
+
+  // The International settings of each Session we've seen, dropped once the Session is garbage collected
+  private static final WeakSessionMap<NotesFormatKey> sessionFormats = new WeakSessionMap<>();
 
   /**
    * Builds a Java 8 DateTimeFormatter string to parse dates and times
@@ -39,28 +55,32 @@ public class XHodgePodge {
    * @throws NotesException
    */
   public static String buildFormatterString(final International i18n) throws NotesException {
-    String tsep = i18n.getTimeSep();
-    String dsep = i18n.getDateSep();
+    return buildFormatterString(NotesFormatKey.of(i18n));
+  }
+
+  static String buildFormatterString(final NotesFormatKey key) {
+    String tsep = key.timeSep;
+    String dsep = key.dateSep;
     StringBuilder pat = new StringBuilder();
     // Date
-    if (i18n.isDateYMD()) {
+    if (key.ymd) {
       pat.append("y").append(dsep).append("M").append(dsep).append("d");
     }
-    if (i18n.isDateDMY()) {
+    if (key.dmy) {
       pat.append("d").append(dsep).append("M").append(dsep).append("y");
     }
-    if (i18n.isDateMDY()) {
+    if (key.mdy) {
       pat.append("M").append(dsep).append("d").append(dsep).append("y");
     }
     pat.append(" ");
     // Time
-    pat.append(i18n.isTime24Hour() ? "H" : "h");
+    pat.append(key.time24Hour ? "H" : "h");
     pat.append(tsep);
     pat.append("mm");
     pat.append(tsep);
     pat.append("ss");
     // AM or PM
-    if (!i18n.isTime24Hour()) {
+    if (!key.time24Hour) {
       pat.append(" a");
     }
     return pat.toString();
@@ -75,30 +95,168 @@ public class XHodgePodge {
    * @throws NotesException
    */
   public static DateTimeFormatter buildFormatter(final International i18n) throws NotesException {
-    String fmt = buildFormatterString(i18n);
-    return DateTimeFormatter.ofPattern(fmt);
+    return buildFormatter(NotesFormatKey.of(i18n));
+  }
+
+  static DateTimeFormatter buildFormatter(final NotesFormatKey key) {
+    String fmt = buildFormatterString(key);
+    if (key.time24Hour) {
+      return DateTimeFormatter.ofPattern(fmt);
+    }
+    // Use the session's AM and PM strings rather than the JVM locale's
+    Map<Long, String> ampm = new HashMap<>();
+    ampm.put(0L, key.am);
+    ampm.put(1L, key.pm);
+    return new DateTimeFormatterBuilder()
+        .appendPattern(fmt.substring(0, fmt.length() - 1))
+        .appendText(ChronoField.AMPM_OF_DAY, ampm)
+        .toFormatter();
   }
 
   /**
-   * Gets a formatter to handle Domino DateTime.zoneDateTime() parsing to a LocalDateTime.
-   * @param ndt a NotesDateTime, used to obtain a session if needed
+   * Gets a formatter for the specified International settings. Formatters are
+   * cached, so each distinct combination of settings is only compiled once.
+   *
+   * @param i18n the International settings, from session.getInternational()
+   * @return a DateTimeFormatter
+   * @throws NotesException
+   */
+  public static DateTimeFormatter getFormatter(final International i18n) throws NotesException {
+    return getFormatter(NotesFormatKey.of(i18n));
+  }
+
+  private static DateTimeFormatter getFormatter(final NotesFormatKey key) {
+    DateTimeFormatter dtf = formatters.get(key);
+    if (dtf == null) {
+      dtf = buildFormatter(key);
+      DateTimeFormatter old = formatters.putIfAbsent(key, dtf);
+      if (old != null) {
+        dtf = old;
+      }
+    }
+    return dtf;
+  }
+
+  /**
+   * Gets the International settings for the session a DateTime belongs to.
+   * These are fetched once per Session and then remembered, until the Session
+   * is passed to invalidateFormatter or garbage collected. Finding the Session
+   * still costs a getParent call on the DateTime every time, which with the
+   * remote API is a round trip; when converting many values, DateTimeBatch
+   * avoids it by being given the Session up front.
+   * @param ndt a NotesDateTime, used to obtain a session
    * @return
    * @throws NotesException
    */
-  private static DateTimeFormatter getFormatter(final DateTime ndt) throws NotesException {
-    if (XHodgePodge.localFormat == null) {
-      Session session = ndt.getParent();
-      International i18n = session.getInternational();
-      XHodgePodge.localFormat = buildFormatter(i18n);
+  static NotesFormatKey getFormatKey(final DateTime ndt) throws NotesException {
+    return getFormatKey(ndt.getParent());
+  }
+
+  /**
+   * Gets the International settings for a session, as for getFormatKey(DateTime).
+   * @param session the Session
+   * @return
+   * @throws NotesException
+   */
+  static NotesFormatKey getFormatKey(final Session session) throws NotesException {
+    NotesFormatKey key = sessionFormats.get(session);
+    if (key == null) {
+      key = NotesFormatKey.of(session.getInternational());
+      sessionFormats.put(session, key);
     }
-    return XHodgePodge.localFormat;
+    return key;
+  }
+
+  /**
+   * Gets a parser for date and time text in the format given by the specified
+   * International settings. Like formatters, layouts are cached.
+   *
+   * @param i18n the International settings, from session.getInternational()
+   * @return
+   * @throws NotesException
+   */
+  public static NotesDateTimeLayout getLayout(final International i18n) throws NotesException {
+    return getLayout(NotesFormatKey.of(i18n));
   }
 
+  static NotesDateTimeLayout getLayout(final NotesFormatKey key) {
+    NotesDateTimeLayout layout = layouts.get(key);
+    if (layout == null) {
+      layout = new NotesDateTimeLayout(key);
+      NotesDateTimeLayout old = layouts.putIfAbsent(key, layout);
+      if (old != null) {
+        layout = old;
+      }
+    }
+    return layout;
+  }
+
+  /**
+   * Gets a parser for Domino DateTime.getZoneTime() and getGMTTime() values.
+   * @param ndt a NotesDateTime, used to obtain a session if needed
+   * @return
+   * @throws NotesException
+   */
+  private static NotesDateTimeLayout getLayout(final DateTime ndt) throws NotesException {
+    return getLayout(getFormatKey(ndt));
+  }
+
+  /**
+   * The number of calls getFormatKey makes to fetch a Session's International
+   * settings when they aren't remembered: getInternational, then each setting.
+   */
+  static final int FORMAT_KEY_CALLS = 1 + NotesFormatKey.CALLS;
+
+  /**
+   * Returns whether the International settings for a Session are remembered,
+   * so that getFormatKey won't need to ask the Session for them.
+   * @param session the Session
+   * @return
+   */
+  static boolean hasFormatKey(final Session session) {
+    return sessionFormats.containsKey(session);
+  }
+
+  /**
+   * Forgets the International settings remembered for a Session, so that
+   * they're fetched again next time. Call this if the settings change.
+   * Sessions are only weakly referenced, so there's no need to call it when
+   * you've finished with one.
+   *
+   * @param session the Session to forget
+   */
+  public static void invalidateFormatter(final Session session) {
+    sessionFormats.remove(session);
+  }
+
+  /**
+   * Forgets all remembered International settings, compiled formatters and layouts.
+   */
+  public static void clearFormatterCache() {
+    sessionFormats.clear();
+    formatters.clear();
+    layouts.clear();
+  }
+
+  /**
+   * Forgets the time zone offsets learned by toOffsetDateTime.
+   */
+  public static void clearOffsetCache() {
+    offsets.clear();
+  }
+
+  static NotesOffsetCache getOffsetCache() {
+    return offsets;
+  }
 
   /**
    * Converts a DateTime to an OffsetDateTime, preserving the time zone stored in the
    * original DateTime object.
    *
+   * Offsets are remembered per Notes time zone abbreviation and year, so
+   * after the first value for a zone's standard or daylight saving time in a
+   * given year, only the zone time is fetched. See clearOffsetCache.
+   *
    * If you don't need to preserve the time zone, it's faster and  more robust
    * to use toZonedDateTimeUTC. This code has to use the text  representations
    * of the DateTime and re-parses them. This is because there's no way to get
@@ -111,50 +269,67 @@ public class XHodgePodge {
    * @throws NotesException
    */
   public static OffsetDateTime toOffsetDateTime(final DateTime ndt) throws NotesException {
-    DateTimeFormatter dtf = getFormatter(ndt);
-    // First parse the date and time into a LocalDateTime in the original DateTime
-    // object's time zone.
+    NotesDateTimeLayout layout = getLayout(ndt);
+    // First parse the date and time in the original DateTime object's time zone.
+    // The parser stops at the end of the time, so the zone needn't be removed.
     String sorigtime = ndt.getZoneTime();
-    // Remove the time zone
-    int tzi = sorigtime.lastIndexOf(' ');
-    String rawdatetime = sorigtime.substring(0, tzi);
-    LocalDateTime origtime = LocalDateTime.from(dtf.parse(rawdatetime));
-    // Then parse the GMT date and time into a LocalDateTime in UTC,
-    // again removing the time zone.
-    String sgmt = ndt.getGMTTime();
-    sgmt = sgmt.substring(0, sgmt.lastIndexOf(' '));
-    LocalDateTime gmttime = LocalDateTime.from(dtf.parse(sgmt));
-    // The difference between the two will give us the full time zone offset of
-    // the time zone of the original DateTime object, which we can't get any other
-    // way. (DateTime.timeZone() returns an int, and there are plenty of common
-    // countries with non-integer offsets from UTC, including Australia.)
-    long minutes = ChronoUnit.MINUTES.between(gmttime, origtime);
-    // Now we can convert that into a time zone offset
-    int hh = (int) minutes/60;
-    int mm = (int) minutes % 60;
-    ZoneOffset zo = ZoneOffset.ofHoursMinutes(hh, mm);
-    // Combine it with the original date time to create our answer
-    OffsetDateTime odt = origtime.atOffset(zo);
-    return odt;
+    int len = sorigtime.length();
+    long origtime = layout.parseLocalEpochSecond(sorigtime, 0, len);
+    // If we've already seen this zone on this date, we know the offset
+    long key = NotesOffsetCache.key(sorigtime, layout.zoneStart(sorigtime, 0, len), len, origtime);
+    int offset = offsets.get(key);
+    if (offset == NotesOffsetCache.NO_OFFSET) {
+      // Otherwise parse the GMT date and time too.
+      String sgmt = ndt.getGMTTime();
+      long gmttime = layout.parseLocalEpochSecond(sgmt, 0, sgmt.length());
+      // The difference between the two will give us the full time zone offset of
+      // the time zone of the original DateTime object, which we can't get any other
+      // way. (DateTime.timeZone() returns an int, and there are plenty of common
+      // countries with non-integer offsets from UTC, including Australia.)
+      offset = (int) (origtime - gmttime);
+      offsets.put(key, offset);
+    }
+    return toOffsetDateTime(origtime, offset);
+  }
+
+  /**
+   * Combines a parsed zone time with its offset to create an OffsetDateTime.
+   * @param origtime the zone time, as a local epoch second
+   * @param offsetSeconds the offset from UTC in seconds
+   * @return
+   */
+  static OffsetDateTime toOffsetDateTime(final long origtime, final int offsetSeconds) {
+    ZoneOffset zo = ZoneOffset.ofTotalSeconds(offsetSeconds);
+    return OffsetDateTime.of(LocalDateTime.ofEpochSecond(origtime, 0, ZoneOffset.UTC), zo);
   }
 
   /**
    * Converts a DateTime plus a Notes time zone field to a ZonedDateTime.
    * If you don't have a Notes time zone field, you'll need to use toOffsetDateTime.
    *
+   * If the zone's name isn't known, the offset and daylight saving fields
+   * of the time zone field are used instead, and the result has a ZoneOffset
+   * as its zone.
+   *
    * @param ndt
    * @param notesTimeZone
    * @return
    * @throws NotesException
+   * @throws DateTimeException if the time zone field can't be understood
    */
   public static ZonedDateTime toZonedDateTime(final DateTime ndt, final String notesTimeZone) throws NotesException {
-    DateTimeFormatter dtf = getFormatter(ndt);
+    NotesDateTimeLayout layout = getLayout(ndt);
     String lst = ndt.getZoneTime();
-    lst = lst.substring(0, lst.lastIndexOf(' '));
+    LocalDateTime ldt = layout.parseLocalDateTime(lst, 0, lst.length());
     ZoneId tzid = toZoneId(notesTimeZone);
-    LocalDateTime ldt = LocalDateTime.from(dtf.parse(lst));
-    ZonedDateTime zdt = ldt.atZone(tzid);
-    return zdt;
+    if (tzid != null) {
+      return ldt.atZone(tzid);
+    }
+    ZoneRules rules = NotesZoneCache.getRules(notesTimeZone);
+    if (rules == null) {
+      throw new DateTimeException("Unknown Notes time zone " + notesTimeZone);
+    }
+    return NotesZoneRules.atZone(ldt, rules);
   }
 
   /**
@@ -202,12 +377,13 @@ public class XHodgePodge {
    * @throws NotesException
    */
   public static LocalDateTime toLocalDateTime(final DateTime ndt) throws NotesException {
-    DateTimeFormatter dtf = getFormatter(ndt);
+    NotesDateTimeLayout layout = getLayout(ndt);
     // Notice: getZoneTime, not getLocalTime. The latter would adjust the date/time
     // to our runtime local time zone, which is not what we want. We want the
-    // unmodified original time and date from the DateTime object.
+    // unmodified original time and date from the DateTime object. The time zone
+    // on the end is ignored.
     String lst = ndt.getZoneTime();
-    return LocalDateTime.from(dtf.parse(lst));
+    return layout.parseLocalDateTime(lst, 0, lst.length());
   }
 
   /**
@@ -285,7 +461,9 @@ public class XHodgePodge {
   }
 
   /**
-   * Converts a ZonedDateTime to a Domino DateTime.
+   * Converts a ZonedDateTime to a Domino DateTime. The ZonedDateTime is
+   * passed to Domino in a Calendar which is reused by each thread, so nothing
+   * is allocated on the Java side.
    *
    * @param session a Session to use to create the DateTime object
    * @param zdt the ZonedDateTime to convert
@@ -293,11 +471,13 @@ public class XHodgePodge {
    * @throws NotesException
    */
   public static DateTime toDateTime(final Session session, final ZonedDateTime zdt) throws NotesException {
-    return session.createDateTime(GregorianCalendar.from(zdt));
+    return session.createDateTime(HodgePodge.toCalendar(zdt, HodgePodge.threadCalendar()));
   }
 
   /**
    * Converts a LocalDateTime to a Domino DateTime, which ends up in the current system time zone.
+   * The instant is worked out from the cached rules of the system default zone
+   * (see ZoneCache.getSystemDefault) and passed to Domino as a Date.
    *
    * @param session a Session to use to create the DateTime object
    * @param ldt the LocalDateTime to convert
@@ -305,11 +485,16 @@ public class XHodgePodge {
    * @throws NotesException
    */
   public static DateTime toDateTime(final Session session, final LocalDateTime ldt) throws NotesException {
-    return session.createDateTime(GregorianCalendar.from(ZonedDateTime.of(ldt, ZoneId.systemDefault())));
+    ZoneRules rules = ZoneCache.getRules(ZoneCache.getSystemDefault());
+    // In a gap, the offset before it gives the same instant as moving forward
+    long offset = rules.getOffset(ldt).getTotalSeconds();
+    return session.createDateTime(new Date(EpochHodgePodge.toEpochMilli(ldt) - offset * 1000L));
   }
 
   /**
    * Converts a LocalDate to a Domino DateTime with wildcarded time.
+   * The date is formatted as text in the session's International layout, which
+   * Domino reads as a date with no time, so only one call is needed.
    *
    * @param session a Session to use to create the DateTime object
    * @param ld the LocalDate to convert
@@ -317,15 +502,14 @@ public class XHodgePodge {
    * @throws NotesException
    */
   public static DateTime toDateTime(final Session session, final LocalDate ld) throws NotesException {
-    Calendar cal = new GregorianCalendar();
-    cal.set(ld.getYear(), ld.getMonthValue() - 1, ld.getDayOfMonth());
-    DateTime ndt = session.createDateTime(cal);
-    ndt.setAnyTime();
-    return ndt;
+    return session.createDateTime(getLayout(getFormatKey(session)).formatDate(ld));
   }
 
   /**
-   * Converts a LocalTime to a Domino DateTime with wildcarded date.
+   * Converts a LocalTime to a Domino DateTime with wildcarded date, to the
+   * nearest second.
+   * The time is formatted as text in the session's International layout, which
+   * Domino reads as a time with no date, so only one call is needed.
    *
    * @param session a Session to use to create the DateTime object
    * @param lt the LocalTime to convert
@@ -333,13 +517,7 @@ public class XHodgePodge {
    * @throws NotesException
    */
   public static DateTime toDateTime(final Session session, final LocalTime lt) throws NotesException {
-    Calendar cal = new GregorianCalendar();
-    cal.set(Calendar.HOUR_OF_DAY, lt.getHour());
-    cal.set(Calendar.MINUTE, lt.getMinute());
-    cal.set(Calendar.SECOND, lt.getSecond());
-    DateTime ndt = session.createDateTime(cal);
-    ndt.setAnyDate();
-    return ndt;
+    return session.createDateTime(getLayout(getFormatKey(session)).formatTime(lt));
   }
 
   /**
@@ -400,21 +578,57 @@ public class XHodgePodge {
     return tzname;
   }
 
+  /**
+   * Converts a Notes time zone abbreviation within some text, such as the end
+   * of a DateTime.getZoneTime() value, to an offset, if possible. Unlike
+   * decodeNotesShortZone(String), this doesn't need the abbreviation to be
+   * cut out of the text first, and returns a shared ZoneOffset rather than a
+   * String, so it creates no objects.
+   *
+   * You should not use this except as a last resort, because time zone
+   * abbreviations are ambiguous.
+   *
+   * @param cs the text containing the abbreviation
+   * @param offset the index of the first character of the abbreviation
+   * @param length the length of the abbreviation
+   * @return the offset, or null if the abbreviation isn't known
+   */
+  public static ZoneOffset decodeNotesShortZone(final CharSequence cs, final int offset, final int length) {
+    return NotesShortZones.lookup(cs, offset, length);
+  }
+
   /**
    * Returns the closest equivalent Java 8 TimeZone for the Notes time zone
    * field value. If no conversion is known to the code, returns null,
    * in which case you should probably check to see if there's an updated
    * version of this code.
    *
+   * Conversions are cached; see NotesZoneCache.
+   *
    * @param notesTimeZone
    * @return
    */
   public static ZoneId toZoneId(final String notesTimeZone) {
-    String ctz = toJavaTimeZone(notesTimeZone);
-    if (ctz == null) {
-      return null;
-    }
-    return ZoneId.of(ctz);
+    return NotesZoneCache.toZoneId(notesTimeZone);
+  }
+
+  /**
+   * Returns a Notes time zone field value, such as "Z=5$DO=1$DL=3 2 1 11 1 1$ZN=Eastern",
+   * for a ZoneId. This is the reverse of toZoneId: zones from the table used
+   * by toJavaTimeZone get their Notes names, with the offset and daylight
+   * saving fields worked out from the Java zone's current rules. Other zones
+   * are given the name of a zone in the table with the same rules if there is
+   * one, or otherwise their Java ID. The ZX field, which is an index into
+   * Notes' own table, isn't included.
+   *
+   * Results are precomputed or cached, so this is a hash lookup after the
+   * first call for each zone.
+   *
+   * @param zid the ZoneId to convert
+   * @return
+   */
+  public static String toNotesTimeZone(final ZoneId zid) {
+    return NotesZoneNames.toNotesTimeZone(zid);
   }
 
   /**
@@ -438,145 +652,7 @@ public class XHodgePodge {
       return null;
     }
     String tz = notesTimeZone.substring(tzi + 3);
-    switch(tz) {
-      case "Line Islands": return "Etc/GMT-14";
-      case "UTC+13": return "Etc/GMT-13";
-      case "Tonga": return "Pacific/Tongatapu";
-      case "Samoa": return "Pacific/Samoa";
-      case "Chatham Islands": return "Pacific/Chatham";
-      case "UTC+12": return "Etc/GMT-12";
-      case "Russia Time Zone 11": return "Asia/Magadan";
-      case "New Zealand": return "Pacific/Auckland";
-      case "Kamchatka": return "Asia/Kamchatka";
-      case "Fiji": return "Pacific/Fiji";
-      case "Sakhalin": return "Asia/Sakhalin";
-      case "Russia Time Zone 10": return "Asia/Srednekolymsk";
-      case "Norfolk": return "Pacific/Norfolk";
-      case "Magadan": return "Asia/Magadan";
-      case "Central Pacific": return "Pacific/Efate";
-      case "Bougainville": return "Pacific/Bougainville";
-      case "Lord Howe": return "Australia/Lord_Howe";
-      case "West Pacific": return "Pacific/Guam";
-      case "Vladivostok": return "Asia/Vladivostok";
-      case "Tasmania": return "Australia/Tasmania";
-      case "E. Australia": return "Australia/Brisbane";
-      case "AUS Eastern": return "Australia/Melbourne";
-      case "Cen. Australia": return "Australia/Adelaide";
-      case "AUS Central": return "Australia/Darwin";
-      case "Yakutsk": return "Asia/Yakutsk";
-      case "Transbaikal": return "Asia/Chita";
-      case "Tokyo": return "Asia/Tokyo";
-      case "Korea": return "Asia/Seoul";
-      case "Aus Central W.": return "Australia/Eucla";
-      case "North Korea": return "Asia/Pyongyang";
-      case "W. Australia": return "Australia/Perth";
-      case "Ulaanbaatar": return "Asia/Ulaanbaatar";
-      case "Taipei": return "Asia/Taipei";
-      case "Singapore": return "Asia/Singapore";
-      case "North Asia East": return "Asia/Irkutsk";
-      case "China": return "Asia/Chongqing";
-      case "W. Mongolia": return "Asia/Hovd";
-      case "Tomsk": return "Asia/Novosibirsk";
-      case "SE Asia": return "Asia/Jakarta";
-      case "North Asia": return "Asia/Krasnoyarsk";
-      case "N. Central Asia": return "Asia/Novosibirsk";
-      case "Altai": return "Asia/Hovd";
-      case "Myanmar": return "Asia/Rangoon";
-      case "Omsk": return "Asia/Omsk";
-      case "Central Asia": return "Asia/Dacca";
-      case "Bangladesh": return "Asia/Dacca";
-      case "Nepal": return "Asia/Kathmandu";
-      case "Sri Lanka": return "Asia/Colombo";
-      case "India": return "Asia/Kolkata";
-      case "West Asia": return "Asia/Tashkent";
-      case "Pakistan": return "Asia/Karachi";
-      case "Ekaterinburg": return "Asia/Yekaterinburg";
-      case "Afghanistan": return "Asia/Kabul";
-      case "Saratov": return "Europe/Volgograd";
-      case "Russia Time Zone 3": return "Europe/Samara";
-      case "Mauritius": return "Indian/Mauritius";
-      case "Georgian": return "Asia/Tbilisi";
-      case "Caucasus": return "Asia/Yerevan";
-      case "Azerbaijan": return "Asia/Baku";
-      case "Astrakhan": return "Europe/Samara";
-      case "Arabian": return "Asia/Dubai";
-      case "Iran": return "Asia/Tehran";
-      case "Turkey": return "Europe/Istanbul";
-      case "Russian": return "Europe/Moscow";
-      case "E. Africa": return "Africa/Nairobi";
-      case "Belarus": return "Europe/Minsk";
-      case "Arabic": return "Asia/Baghdad";
-      case "Arab": return "Asia/Kuwait";
-      case "West Bank": return "Asia/Gaza";
-      case "Syria": return "Asia/Damascus";
-      case "Sudan": return "Africa/Khartoum";
-      case "South Africa": return "Africa/Harare";
-      case "Namibia": return "Africa/Windhoek";
-      case "Middle East": return "Asia/Beirut";
-      case "Libya": return "Africa/Tripoli";
-      case "Kaliningrad": return "Europe/Kaliningrad";
-      case "Jordan": return "Asia/Amman";
-      case "Israel": return "Asia/Tel_Aviv";
-      case "GTB": return "Europe/Istanbul";
-      case "FLE": return "Europe/Riga";
-      case "Egypt": return "Africa/Cairo";
-      case "E. Europe": return "Europe/Minsk";
-      case "W. Europe": return "Europe/Amsterdam";
-      case "W. Central Africa": return "Africa/Luanda";
-      case "Central European": return "Europe/Sarajevo";
-      case "Romance": return "Europe/Brussels";
-      case "Central Europe": return "Europe/Prague";
-      case "UTC": return "UTC";
-      case "Morocco": return "Africa/Casablanca";
-      case "Greenwich": return "Africa/Monrovia";
-      case "GMT": return "Europe/London";
-      case "Cape Verde": return "Atlantic/Cape_Verde";
-      case "Azores": return "Atlantic/Azores";
-      case "UTC-02": return "Etc/GMT+2";
-      case "Mid-Atlantic": return "Etc/GMT+2";
-      case "Tocantins": return "America/Araguaina";
-      case "SA Eastern": return "America/Cayenne";
-      case "Saint Pierre": return "America/Miquelon";
-      case "Montevideo": return "America/Montevideo";
-      case "Magallanes": return "America/Santiago";
-      case "Greenland": return "America/Danmarkshavn";
-      case "E. South America": return "America/Sao_Paulo";
-      case "Bahia": return "America/Bahia";
-      case "Argentina": return "America/Buenos_Aires";
-      case "Newfoundland": return "Canada/Newfoundland";
-      case "Venezuela": return "America/Caracas";
-      case "SA Western": return "America/La_Paz";
-      case "Paraguay": return "America/Asuncion";
-      case "Pacific SA": return "America/Santiago";
-      case "Central Brazilian": return "America/Cuiaba";
-      case "Atlantic": return "Canada/Atlantic";
-      case "US Eastern": return "America/Indiana/Indianapolis";
-      case "Turks And Caicos": return "America/Grand_Turk";
-      case "SA Pacific": return "America/Lima";
-      case "Haiti": return "America/Port-au-Prince";
-      case "Eastern Standard Time (Mexico)": return "America/Cancun";
-      case "Eastern": return "America/New_York";
-      case "Cuba": return "America/Havana";
-      case "Easter Island": return "Pacific/Easter";
-      case "Central Standard Time (Mexico)": return "America/Mexico_City";
-      case "Central": return "America/Chicago";
-      case "Central America": return "America/Costa_Rica";
-      case "Canada Central": return "America/Regina";
-      case "US Mountain": return "US/Arizona";
-      case "Mountain Standard Time (Mexico)": return "America/Chihuahua";
-      case "Mountain": return "America/Denver";
-      case "UTC-08": return "Etc/GMT+8";
-      case "Pacific Standard Time (Mexico)": return "America/Tijuana";
-      case "Pacific": return "America/Los_Angeles";
-      case "UTC-09": return "Etc/GMT+9";
-      case "Alaskan": return "US/Alaska";
-      case "Marquesas": return "Pacific/Marquesas";
-      case "Hawaiian": return "Pacific/Honolulu";
-      case "Aleutian": return "US/Aleutian";
-      case "UTC-11": return "Etc/GMT+11";
-      case "Dateline": return "Etc/GMT+12";
-    }
-    return null;
+    return NotesZoneNames.toJavaId(tz);
   }
 
 }
@@ -0,0 +1,163 @@
+package com.ibm.hodgepodge;
+
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache which maps between legacy TimeZone objects and java.time ZoneIds
+ * and ZoneRules, in both directions.
+ *
+ * TimeZone.getTimeZone clones the zone on every call, and TimeZone.toZoneId
+ * re-parses the zone's ID string every time, so converting back and forth in
+ * a loop is surprisingly costly. The cache is keyed by zone ID and is safe
+ * to use from multiple threads without locking.
+ *
+ * TimeZone is mutable, so the TimeZones returned are copies of the cached
+ * ones, which callers are free to modify; copying a cached zone is still much
+ * cheaper than TimeZone.getTimeZone. TimeZones which weren't obtained from the
+ * system zone database -- for example, SimpleTimeZones you have built
+ * yourself -- are converted but never cached, since their ID says nothing
+ * about their rules.
+ *
+ * The cache is bounded: if it ever holds more than MAX_SIZE entries, it is
+ * cleared and starts filling again. There are only a few hundred zone IDs in
+ * the database, so in practice that only happens if callers are creating
+ * large numbers of fixed-offset zones.
+ */
+public class ZoneCache {
+
+  /**
+   * The maximum number of entries in each of the caches.
+   */
+  public static final int MAX_SIZE = 1024;
+
+  // The class of TimeZones which come from the zone database
+  private static final Class<?> DATABASE_ZONE = TimeZone.getTimeZone("UTC").getClass();
+
+  private static final ConcurrentHashMap<String, ZoneId> zoneIds = new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<ZoneId, TimeZone> timeZones = new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<String, TimeZone> timeZonesById = new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<ZoneId, ZoneRules> zoneRules = new ConcurrentHashMap<>();
+
+  private static <K, V> V put(final ConcurrentHashMap<K, V> map, final K key, final V value) {
+    if (map.size() >= MAX_SIZE) {
+      map.clear();
+    }
+    V old = map.putIfAbsent(key, value);
+    return old == null ? value : old;
+  }
+
+  /**
+   * Returns the ZoneId equivalent to a TimeZone.
+   * @param tz the TimeZone to convert
+   * @return
+   */
+  public static ZoneId toZoneId(final TimeZone tz) {
+    if (tz.getClass() != DATABASE_ZONE) {
+      return tz.toZoneId();
+    }
+    String id = tz.getID();
+    ZoneId zid = zoneIds.get(id);
+    if (zid == null) {
+      zid = put(zoneIds, id, tz.toZoneId());
+    }
+    return zid;
+  }
+
+  /**
+   * Returns a TimeZone equivalent to a ZoneId. It's a copy of the cached zone,
+   * so it can be modified.
+   * @param zid the ZoneId to convert
+   * @return
+   */
+  public static TimeZone toTimeZone(final ZoneId zid) {
+    return (TimeZone) shared(zid).clone();
+  }
+
+  // The cached TimeZone for a ZoneId, which must never be handed out
+  private static TimeZone shared(final ZoneId zid) {
+    TimeZone tz = timeZones.get(zid);
+    if (tz == null) {
+      tz = put(timeZones, zid, TimeZone.getTimeZone(zid));
+    }
+    return tz;
+  }
+
+  /**
+   * Sets a Calendar's time zone to the equivalent of a ZoneId. If the
+   * Calendar already has an equal TimeZone it's left alone, so a Calendar
+   * which is reused for values in the same zone only gets its own copy of the
+   * zone once.
+   * @param cal the Calendar
+   * @param zid the ZoneId
+   */
+  static void setTimeZone(final Calendar cal, final ZoneId zid) {
+    TimeZone tz = shared(zid);
+    if (!tz.equals(cal.getTimeZone())) {
+      cal.setTimeZone((TimeZone) tz.clone());
+    }
+  }
+
+  /**
+   * Returns a TimeZone for an ID, as per TimeZone.getTimeZone -- so an
+   * unknown ID gives you GMT. It's a copy of the cached zone, so it can be
+   * modified.
+   * @param id the zone ID, for example "America/Chicago"
+   * @return
+   */
+  public static TimeZone getTimeZone(final String id) {
+    TimeZone tz = timeZonesById.get(id);
+    if (tz == null) {
+      tz = put(timeZonesById, id, TimeZone.getTimeZone(id));
+    }
+    return (TimeZone) tz.clone();
+  }
+
+  /**
+   * Returns the rules for a ZoneId.
+   * @param zid the ZoneId
+   * @return
+   */
+  public static ZoneRules getRules(final ZoneId zid) {
+    ZoneRules rules = zoneRules.get(zid);
+    if (rules == null) {
+      rules = put(zoneRules, zid, zid.getRules());
+    }
+    return rules;
+  }
+
+  /**
+   * Returns the rules for a TimeZone.
+   * @param tz the TimeZone
+   * @return
+   */
+  public static ZoneRules getRules(final TimeZone tz) {
+    return getRules(toZoneId(tz));
+  }
+
+  /**
+   * Returns the system default ZoneId, as per ZoneId.systemDefault, but
+   * looked up in the cache rather than parsed from the default TimeZone's ID.
+   * TimeZone.getDefault still returns a clone on every call, so this costs a
+   * TimeZone per call; in return a change made with TimeZone.setDefault is
+   * seen straight away.
+   * @return
+   */
+  public static ZoneId getSystemDefault() {
+    return toZoneId(TimeZone.getDefault());
+  }
+
+  /**
+   * Empties the caches, for example after the zone database has been changed.
+   */
+  public static void clear() {
+    zoneIds.clear();
+    timeZones.clear();
+    timeZonesById.clear();
+    zoneRules.clear();
+  }
+
+}
@@ -0,0 +1,68 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Remembers the UTC offset of a zone over the span of epoch milliseconds
+ * between two transitions, so that runs of nearby values only consult the
+ * ZoneRules when they cross a transition.
+ *
+ * Not thread safe; intended to be created once per batch.
+ */
+final class ZoneOffsetWindow {
+
+  private final ZoneRules rules;
+  // The offset is valid for from <= epochMilli < to
+  private long from = Long.MAX_VALUE;
+  private long to = Long.MIN_VALUE;
+  private int offsetMillis;
+  private ZoneOffset offset;
+
+  ZoneOffsetWindow (final ZoneId zone) {
+    this.rules = zone.getRules();
+    if (this.rules.isFixedOffset()) {
+      this.offset = this.rules.getOffset(Instant.EPOCH);
+      this.offsetMillis = this.offset.getTotalSeconds() * 1000;
+      this.from = Long.MIN_VALUE;
+      this.to = Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Returns the offset from UTC in milliseconds at the given instant.
+   */
+  int offsetMillis (final long epochMilli) {
+    if (epochMilli < this.from || epochMilli >= this.to) {
+      this.refill(epochMilli);
+    }
+    return this.offsetMillis;
+  }
+
+  /**
+   * Returns the offset from UTC at the given instant.
+   */
+  ZoneOffset offset (final long epochMilli) {
+    if (epochMilli < this.from || epochMilli >= this.to) {
+      this.refill(epochMilli);
+    }
+    return this.offset;
+  }
+
+  private void refill (final long epochMilli) {
+    Instant ins = Instant.ofEpochMilli(epochMilli);
+    this.offset = this.rules.getOffset(ins);
+    this.offsetMillis = this.offset.getTotalSeconds() * 1000;
+    // previousTransition is strictly before its argument, so ask about the
+    // next millisecond in order to include a transition exactly at epochMilli
+    ZoneOffsetTransition prev = epochMilli == Long.MAX_VALUE ? null
+        : this.rules.previousTransition(Instant.ofEpochMilli(epochMilli + 1));
+    ZoneOffsetTransition next = this.rules.nextTransition(ins);
+    this.from = prev == null ? Long.MIN_VALUE : prev.toEpochSecond() * 1000L;
+    this.to = next == null ? Long.MAX_VALUE : next.toEpochSecond() * 1000L;
+  }
+
+}
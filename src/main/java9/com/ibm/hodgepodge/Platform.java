@@ -0,0 +1,31 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The conversions which newer Java releases can do more cheaply. This is the
+ * Java 9 version, which uses the Instant conversions added to LocalDate and
+ * LocalTime; see src/main/java for the Java 8 version.
+ */
+final class Platform {
+
+  private Platform() {
+  }
+
+  static LocalDate toLocalDate(final Instant ins, final ZoneId zone) {
+    return LocalDate.ofInstant(ins, zone);
+  }
+
+  static LocalTime toLocalTime(final Instant ins, final ZoneId zone) {
+    return LocalTime.ofInstant(ins, zone);
+  }
+
+  static ExecutorService newVirtualThreadExecutor() {
+    return null;
+  }
+
+}
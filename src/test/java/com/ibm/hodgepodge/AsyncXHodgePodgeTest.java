@@ -0,0 +1,259 @@
+package com.ibm.hodgepodge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import lotus.domino.DateTime;
+import lotus.domino.International;
+import lotus.domino.NotesException;
+import lotus.domino.SimulatedSession;
+
+class AsyncXHodgePodgeTest {
+
+  private static final International US = new International(":", "/", "MDY", false, "AM", "PM");
+
+  @Test
+  void testConversions () throws Exception {
+    List<SimulatedSession> sims = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      SimulatedSession sim = new SimulatedSession(US, ZoneId.of("UTC"));
+      sim.setLatency(Duration.ofMillis(1));
+      sims.add(sim);
+    }
+    ZonedDateTime base = ZonedDateTime.of(2018, 10, 9, 23, 10, 9, 0, ZoneId.of("America/New_York"));
+    List<CompletableFuture<OffsetDateTime>> futures = new ArrayList<>();
+    List<OffsetDateTime> expected = new ArrayList<>();
+    try (AsyncXHodgePodge async = new AsyncXHodgePodge(4, 16)) {
+      for (int i = 0; i < 100; i++) {
+        ZonedDateTime zdt = base.plusHours(i * 7);
+        SimulatedSession sim = sims.get(i % 4);
+        futures.add(async.toOffsetDateTime(sim.getSession(), sim.newDateTime(zdt)));
+        expected.add(zdt.toOffsetDateTime());
+      }
+      List<DateTime> ndts = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        ndts.add(sims.get(0).newDateTime(base.plusDays(i)));
+      }
+      OffsetDateTime[] bulk = async.toOffsetDateTimes(sims.get(0).getSession(), ndts).get();
+      assertEquals(base.plusDays(9).toOffsetDateTime(), bulk[9]);
+      for (int i = 0; i < futures.size(); i++) {
+        assertEquals(expected.get(i), futures.get(i).get());
+      }
+    }
+    for (SimulatedSession sim : sims) {
+      XHodgePodge.invalidateFormatter(sim.getSession());
+    }
+  }
+
+  @Test
+  void testSessionOrdering () throws Exception {
+    SimulatedSession a = new SimulatedSession(US, ZoneId.of("UTC"));
+    SimulatedSession b = new SimulatedSession(US, ZoneId.of("UTC"));
+    List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger overlaps = new AtomicInteger();
+    CountDownLatch aStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try (AsyncXHodgePodge async = new AsyncXHodgePodge(4, 1000)) {
+      List<CompletableFuture<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        int n = i;
+        futures.add(async.submit(a.getSession(), () -> {
+          if (running.incrementAndGet() > 1) {
+            overlaps.incrementAndGet();
+          }
+          if (n == 0) {
+            aStarted.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+          }
+          order.add(n);
+          running.decrementAndGet();
+          return n;
+        }));
+      }
+      // Another Session's conversions don't wait for the first's
+      assertTrue(aStarted.await(10, TimeUnit.SECONDS));
+      CompletableFuture<Integer> other = async.submit(b.getSession(), () -> -1);
+      assertEquals(-1, other.get(10, TimeUnit.SECONDS).intValue());
+      assertEquals(1, running.get());
+      assertTrue(order.isEmpty());
+      release.countDown();
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+      assertEquals(0, overlaps.get());
+      for (int i = 0; i < order.size(); i++) {
+        assertEquals(i, order.get(i).intValue());
+      }
+      // The last future completes just before the Session's executor goes idle
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (!async.forget(a.getSession())) {
+        assertTrue(System.nanoTime() < deadline);
+        Thread.sleep(1);
+      }
+    }
+  }
+
+  @Test
+  void testRefusedHandoff () throws Exception {
+    Thread caller = Thread.currentThread();
+    List<String> ran = Collections.synchronizedList(new ArrayList<>());
+    Queue<SerialExecutor> stalled = new ConcurrentLinkedQueue<>();
+    // Always saturated, so the loop is always run by the submitter
+    SerialExecutor serial = new SerialExecutor(Runnable::run, stalled);
+    CountDownLatch firstStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread first = new Thread(() -> serial.execute(() -> {
+      firstStarted.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      ran.add("a " + Thread.currentThread().getName());
+    }), "first");
+    first.start();
+    assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+    serial.execute(() -> ran.add("b " + Thread.currentThread().getName()));
+    serial.execute(() -> ran.add("c " + Thread.currentThread().getName()));
+    release.countDown();
+    first.join(10000);
+    // The first submitter only ran its own task, and left the rest parked
+    assertEquals(Arrays.asList("a first"), ran);
+    assertEquals(1, stalled.size());
+    assertFalse(serial.isIdle());
+    // The next submitter takes over, but only runs the task at the head
+    serial.execute(() -> ran.add("d " + Thread.currentThread().getName()));
+    assertEquals(Arrays.asList("a first", "b " + caller.getName()), ran);
+    // A free pool thread runs the rest
+    Thread pool = new Thread(() -> SerialExecutor.resumeStalled(stalled), "pool");
+    pool.start();
+    pool.join(10000);
+    assertEquals(Arrays.asList("a first", "b " + caller.getName(), "c pool", "d pool"), ran);
+    assertTrue(serial.isIdle());
+    assertTrue(stalled.isEmpty());
+    // An executor which throws can't be relied on to run anything later
+    SerialExecutor refusing = new SerialExecutor(task -> {
+      throw new RejectedExecutionException();
+    }, stalled);
+    refusing.execute(() -> ran.add("e " + Thread.currentThread().getName()));
+    assertEquals("e " + caller.getName(), ran.get(4));
+    assertTrue(refusing.isIdle());
+  }
+
+  @Test
+  void testSaturated () throws Exception {
+    SimulatedSession[] sims = { new SimulatedSession(US, ZoneId.of("UTC")), new SimulatedSession(US, ZoneId.of("UTC")) };
+    List<CompletableFuture<Integer>> futures = Collections.synchronizedList(new ArrayList<>());
+    List<List<Integer>> orders = Arrays.asList(Collections.synchronizedList(new ArrayList<>()),
+        Collections.synchronizedList(new ArrayList<>()));
+    try (AsyncXHodgePodge async = new AsyncXHodgePodge(2, 2)) {
+      // Each submitter thread has its own Session, so its conversions must run in its order
+      List<Thread> submitters = new ArrayList<>();
+      for (int t = 0; t < 2; t++) {
+        int s = t;
+        submitters.add(new Thread(() -> {
+          for (int i = 0; i < 500; i++) {
+            int n = i;
+            futures.add(async.submit(sims[s].getSession(), () -> {
+              orders.get(s).add(n);
+              return n;
+            }));
+            futures.add(async.submit(null, () -> -1));
+          }
+        }));
+      }
+      submitters.forEach(Thread::start);
+      for (Thread t : submitters) {
+        t.join();
+      }
+      // Nothing is left behind, however the work was split between the threads
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+      for (List<Integer> order : orders) {
+        assertEquals(500, order.size());
+        for (int i = 0; i < order.size(); i++) {
+          assertEquals(i, order.get(i).intValue());
+        }
+      }
+    }
+  }
+
+  @Test
+  void testCallerRuns () throws Exception {
+    SimulatedSession sim = new SimulatedSession(US, ZoneId.of("UTC"));
+    CountDownLatch release = new CountDownLatch(1);
+    Thread caller = Thread.currentThread();
+    try (AsyncXHodgePodge async = new AsyncXHodgePodge(1, 1)) {
+      // Occupy the only thread, then fill the queue
+      CompletableFuture<Boolean> blocked = async.submit(null, () -> {
+        try {
+          release.await();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+        return true;
+      });
+      CompletableFuture<Boolean> queued = async.submit(null, () -> true);
+      // With no room left, the submitting thread does the work itself
+      CompletableFuture<Boolean> ran = async.submit(sim.getSession(), () -> Thread.currentThread() == caller);
+      assertTrue(ran.get());
+      release.countDown();
+      assertTrue(blocked.get());
+      assertTrue(queued.get());
+    }
+  }
+
+  @Test
+  void testFailures () throws Exception {
+    SimulatedSession sim = new SimulatedSession(US, ZoneId.of("UTC"));
+    DateTime ndt = sim.newDateTime(ZonedDateTime.of(2018, 10, 9, 23, 10, 9, 0, ZoneId.of("UTC")));
+    ndt.recycle();
+    AsyncXHodgePodge async = new AsyncXHodgePodge(2, 10);
+    ExecutionException ex = assertThrows(ExecutionException.class, () -> async.toInstant(sim.getSession(), ndt).get());
+    assertTrue(ex.getCause() instanceof NotesException);
+    async.close();
+    assertTrue(async.isClosed());
+    CompletableFuture<Integer> late = async.submit(sim.getSession(), () -> 1);
+    CompletionException ce = assertThrows(CompletionException.class, late::join);
+    assertTrue(ce.getCause() instanceof RejectedExecutionException);
+    assertFalse(late.isCancelled());
+  }
+
+  @Test
+  void testVirtualThreads () throws Exception {
+    if (!AsyncXHodgePodge.hasVirtualThreads()) {
+      assertThrows(UnsupportedOperationException.class, AsyncXHodgePodge::withVirtualThreads);
+      return;
+    }
+    SimulatedSession sim = new SimulatedSession(US, ZoneId.of("UTC"));
+    ZonedDateTime zdt = ZonedDateTime.of(2018, 10, 9, 23, 10, 9, 0, ZoneId.of("UTC"));
+    try (AsyncXHodgePodge async = AsyncXHodgePodge.withVirtualThreads()) {
+      assertEquals(zdt.toInstant(), async.toInstant(sim.getSession(), sim.newDateTime(zdt)).get());
+    }
+  }
+
+}
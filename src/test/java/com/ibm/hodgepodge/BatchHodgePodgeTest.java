@@ -0,0 +1,93 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BatchHodgePodgeTest {
+
+  private static final String[] ZONES = { "UTC", "America/New_York", "Australia/Adelaide",
+      "Europe/London", "Asia/Kathmandu", "Pacific/Chatham" };
+
+  Random rand = new Random();
+
+  private long[] randomMillis (final int n, final boolean sorted) {
+    long[] millis = new long[n];
+    for (int i = 0; i < n; i++) {
+      millis[i] = this.rand.nextLong() % 4000000000000L;
+    }
+    if (sorted) {
+      Arrays.sort(millis);
+    }
+    return millis;
+  }
+
+  @Test
+  void testDatesAndInstants () {
+    long[] millis = this.randomMillis(100, false);
+    Date[] dates = new Date[millis.length];
+    BatchHodgePodge.toDates(millis, dates);
+    dates[7] = null;
+    Instant[] instants = new Instant[millis.length];
+    BatchHodgePodge.toInstants(dates, instants);
+    Date[] dates2 = new Date[millis.length];
+    BatchHodgePodge.toDates(instants, dates2);
+    Assertions.assertNull(instants[7]);
+    for (int i = 0; i < millis.length; i++) {
+      if (i != 7) {
+        Assertions.assertEquals(Instant.ofEpochMilli(millis[i]), instants[i]);
+      }
+    }
+    Assertions.assertArrayEquals(dates, dates2);
+  }
+
+  @Test
+  void testLocalDatesAndTimes () {
+    for (String zone : ZONES) {
+      ZoneId zid = ZoneId.of(zone);
+      for (boolean sorted : new boolean[] { true, false }) {
+        long[] millis = this.randomMillis(500, sorted);
+        LocalDate[] lds = new LocalDate[millis.length];
+        LocalDateTime[] ldts = new LocalDateTime[millis.length];
+        OffsetDateTime[] odts = new OffsetDateTime[millis.length];
+        BatchHodgePodge.toLocalDates(millis, zid, lds);
+        BatchHodgePodge.toLocalDateTimes(millis, zid, ldts);
+        BatchHodgePodge.toOffsetDateTimes(millis, zid, odts);
+        for (int i = 0; i < millis.length; i++) {
+          OffsetDateTime expected = Instant.ofEpochMilli(millis[i]).atZone(zid).toOffsetDateTime();
+          Assertions.assertEquals(expected.toLocalDate(), lds[i]);
+          Assertions.assertEquals(expected.toLocalDateTime(), ldts[i]);
+          Assertions.assertEquals(expected, odts[i]);
+        }
+      }
+    }
+  }
+
+  @Test
+  void testTransitionBoundaries () {
+    ZoneId zid = ZoneId.of("America/New_York");
+    // 2018-03-11T07:00:00Z is the start of DST
+    long t = Instant.parse("2018-03-11T07:00:00Z").toEpochMilli();
+    long[] millis = { t - 1, t, t + 1, t - 1, t };
+    LocalDateTime[] ldts = new LocalDateTime[millis.length];
+    BatchHodgePodge.toLocalDateTimes(millis, zid, ldts);
+    for (int i = 0; i < millis.length; i++) {
+      Assertions.assertEquals(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis[i]), zid), ldts[i]);
+    }
+  }
+
+  @Test
+  void testOutputTooShort () {
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> BatchHodgePodge.toInstants(new long[3], new Instant[2]));
+  }
+
+}
@@ -0,0 +1,242 @@
+package com.ibm.hodgepodge;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Vector;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+
+import lotus.domino.DateRange;
+import lotus.domino.DateTime;
+import lotus.domino.Document;
+import lotus.domino.International;
+import lotus.domino.Item;
+import lotus.domino.Session;
+
+class DateTimeBatchTest {
+
+  private static final International US = new International(":", "/", "MDY", false, "AM", "PM");
+
+  private static <T> T proxy (final Class<T> cls, final java.util.function.Function<String, Object> answer) {
+    return proxy(cls, (m, args) -> answer.apply(m));
+  }
+
+  private static <T> T proxy (final Class<T> cls, final BiFunction<String, Object[], Object> answer) {
+    return cls.cast(Proxy.newProxyInstance(cls.getClassLoader(), new Class<?>[] { cls },
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "hashCode": return System.identityHashCode(proxy);
+            case "equals": return proxy == args[0];
+            default: return answer.apply(method.getName(), args);
+          }
+        }));
+  }
+
+  private static Session session (final Vector<String> evaluateResult) {
+    return proxy(Session.class, m -> {
+      switch (m) {
+        case "getInternational": return US;
+        case "evaluate": return evaluateResult;
+        default: throw new UnsupportedOperationException(m);
+      }
+    });
+  }
+
+  private static DateTime dateTime (final String zone, final String gmt, final Date d) {
+    return proxy(DateTime.class, m -> {
+      switch (m) {
+        case "getZoneTime": return zone;
+        case "getGMTTime": return gmt;
+        case "toJavaDate": return d;
+        default: throw new UnsupportedOperationException(m);
+      }
+    });
+  }
+
+  @Test
+  void testDateTimeList () {
+    Session session = session(null);
+    XHodgePodge.clearOffsetCache();
+    DateTimeBatch batch = new DateTimeBatch(session);
+    // getInternational, then the eight settings
+    assertEquals(9, batch.getRemoteCalls());
+    batch.resetRemoteCalls();
+    Instant ins = Instant.parse("2018-10-10T05:10:09Z");
+    List<DateTime> values = Arrays.asList(
+        dateTime("10/9/2018 11:10:09 PM MST", "10/10/2018 05:10:09 AM GMT", Date.from(ins)),
+        null,
+        dateTime("10/10/2018 03:40:09 PM ZE10", "10/10/2018 05:10:09 AM GMT", Date.from(ins)));
+    OffsetDateTime[] odts = batch.toOffsetDateTimes(values);
+    assertEquals(OffsetDateTime.of(2018, 10, 9, 23, 10, 9, 0, ZoneOffset.ofHours(-6)), odts[0]);
+    assertEquals(null, odts[1]);
+    assertEquals(OffsetDateTime.of(2018, 10, 10, 15, 40, 9, 0, ZoneOffset.ofHoursMinutes(10, 30)), odts[2]);
+    assertEquals(4, batch.getRemoteCalls());
+    assertArrayEquals(new Instant[] { ins, null, ins }, batch.toInstants(values));
+    assertEquals(6, batch.getRemoteCalls());
+    assertEquals(LocalDateTime.of(2018, 10, 10, 15, 40, 9), batch.toLocalDateTimes(values)[2]);
+    assertEquals(8, batch.getRemoteCalls());
+    // The offsets for MST and ZE10 on those days are now known
+    assertEquals(odts[2], batch.toOffsetDateTimes(values)[2]);
+    assertEquals(10, batch.getRemoteCalls());
+    // A second batch for the same session doesn't need to fetch the settings
+    assertEquals(0, new DateTimeBatch(session).getRemoteCalls());
+    XHodgePodge.invalidateFormatter(session);
+  }
+
+  @Test
+  void testDocument () {
+    Vector<String> texts = new Vector<>(Arrays.asList(
+        "10/9/2018 11:10:09 PM MST", "1/11/1952 1:10:09 AM EDT",
+        "10/10/2018 05:10:09 AM GMT", "1/11/1952 5:10:09 AM GMT"));
+    Session session = session(texts);
+    Document doc = proxy(Document.class, m -> {
+      throw new UnsupportedOperationException(m);
+    });
+    DateTimeBatch batch = new DateTimeBatch(session);
+    batch.resetRemoteCalls();
+    OffsetDateTime[] odts = batch.toOffsetDateTimes(doc, "Modified");
+    assertEquals(2, odts.length);
+    assertEquals(OffsetDateTime.of(1952, 1, 11, 1, 10, 9, 0, ZoneOffset.ofHours(-4)), odts[1]);
+    assertEquals(Instant.parse("2018-10-10T05:10:09Z"), batch.toInstants(doc, "Modified")[0]);
+    assertEquals(LocalDateTime.of(2018, 10, 9, 23, 10, 9), batch.toLocalDateTimes(doc, "Modified")[0]);
+    assertEquals(3, batch.getRemoteCalls());
+    assertThrows(IllegalArgumentException.class, () -> batch.toLocalDateTimes(doc, "x) : @Command(1"));
+    XHodgePodge.invalidateFormatter(session);
+  }
+
+  @Test
+  void testDocumentRange () {
+    Vector<String> texts = new Vector<>(Arrays.asList(
+        "10/9/2018 11:10:09 PM EDT - 10/10/2018 01:00:00 AM EDT",
+        "10/10/2018 03:10:09 AM GMT - 10/10/2018 05:00:00 AM GMT"));
+    Session session = session(texts);
+    Document doc = proxy(Document.class, m -> {
+      throw new UnsupportedOperationException(m);
+    });
+    DateTimeBatch batch = new DateTimeBatch(session);
+    assertThrows(DateTimeException.class, () -> batch.toOffsetDateTimes(doc, "Period"));
+    assertThrows(DateTimeException.class, () -> batch.toInstants(doc, "Period"));
+    assertThrows(DateTimeException.class, () -> batch.toLocalDateTimes(doc, "Period"));
+    assertThrows(DateTimeException.class, () -> batch.parseZoneTimes(texts));
+    XHodgePodge.invalidateFormatter(session);
+  }
+
+  @Test
+  void testItemValues () {
+    Session session = session(null);
+    DateTime a = dateTime("10/9/2018 11:10:09 PM EDT", null, Date.from(Instant.parse("2018-10-10T03:10:09Z")));
+    DateTime b = dateTime("10/10/2018 01:00:00 AM EDT", null, Date.from(Instant.parse("2018-10-10T05:00:00Z")));
+    DateRange range = proxy(DateRange.class, m -> {
+      switch (m) {
+        case "getStartDateTime": return a;
+        case "getEndDateTime": return b;
+        default: throw new UnsupportedOperationException(m);
+      }
+    });
+    Vector<Object> values = new Vector<>(Arrays.asList(b, range));
+    Item item = proxy(Item.class, m -> {
+      if (m.equals("getValueDateTimeArray")) {
+        return values;
+      }
+      throw new UnsupportedOperationException(m);
+    });
+    DateTimeBatch batch = new DateTimeBatch(session);
+    batch.resetRemoteCalls();
+    long bms = b.toJavaDate().getTime();
+    assertArrayEquals(new long[] { bms, bms, a.toJavaDate().getTime(), bms }, batch.readEpochMillis(item));
+    assertEquals(6, batch.getRemoteCalls());
+    Instant[] ins = batch.readInstants(values);
+    assertEquals(Instant.parse("2018-10-10T03:10:09Z"), ins[2]);
+    String eastern = "Z=5$DO=1$DL=3 2 1 11 1 1$ZX=9$ZN=Eastern";
+    ZonedDateTime[] zdts = batch.readZonedDateTimes(item, eastern);
+    assertEquals(4, zdts.length);
+    assertEquals(ZonedDateTime.of(2018, 10, 9, 23, 10, 9, 0, ZoneId.of("America/New_York")), zdts[2]);
+    assertEquals(zdts[0], zdts[3]);
+    // With a zone Java doesn't know, the offsets come from the zone's own rules
+    batch.resetRemoteCalls();
+    zdts = batch.readZonedDateTimes(values, eastern.replace("Eastern", "Somewhere Eastern"));
+    // One for the DateTime, four for the DateRange
+    assertEquals(5, batch.getRemoteCalls());
+    assertEquals(ZoneOffset.ofHours(-4), zdts[2].getOffset());
+    assertEquals(ins[2], zdts[2].toInstant());
+    assertThrows(IllegalArgumentException.class, () -> batch.readEpochMillis(Arrays.asList("10/9/2018")));
+    XHodgePodge.invalidateFormatter(session);
+  }
+
+  @Test
+  void testWrite () {
+    // Records what each created DateTime was made from
+    List<Object> made = new ArrayList<>();
+    List<Object> recycled = new ArrayList<>();
+    Session session = proxy(Session.class, (m, args) -> {
+      switch (m) {
+        case "getInternational": return US;
+        case "createDateTime":
+          Object arg = args[0];
+          made.add(arg instanceof Date ? Instant.ofEpochMilli(((Date) arg).getTime())
+              : arg instanceof Calendar ? ((Calendar) arg).toInstant() + " " + ((Calendar) arg).getTimeZone().getID()
+              : arg);
+          return proxy(DateTime.class, n -> null);
+        case "createDateRange":
+          made.add(args[0] instanceof Date ? "range of dates" : "range of DateTimes");
+          return proxy(DateRange.class, n -> null);
+        case "recycle":
+          recycled.addAll((Vector<?>) args[0]);
+          return null;
+        default: throw new UnsupportedOperationException(m);
+      }
+    });
+    DateTimeBatch batch = new DateTimeBatch(session);
+    batch.resetRemoteCalls();
+    Instant ins = Instant.parse("2018-10-10T05:10:09Z");
+    ZonedDateTime zdt = ins.atZone(ZoneId.of("Asia/Kolkata"));
+    Vector<DateTime> dts = batch.toDateTimes(Arrays.asList(ins, Date.from(ins), zdt, LocalDate.of(2018, 10, 10)));
+    assertEquals(4, dts.size());
+    assertEquals(ins, made.get(0));
+    assertEquals(ins, made.get(1));
+    assertEquals(ins + " Asia/Kolkata", made.get(2));
+    // A LocalDate is passed as text, which Domino gives a wildcard time
+    assertEquals("10/10/2018", made.get(3));
+    assertEquals(4, batch.getRemoteCalls());
+    Vector<DateRange> ranges = batch.toDateRanges(Arrays.asList(ins, zdt), Arrays.asList(ins, zdt));
+    assertEquals(2, ranges.size());
+    assertEquals("range of dates", made.get(4));
+    assertEquals("range of DateTimes", made.get(7));
+    assertEquals(8, batch.getRemoteCalls());
+    assertEquals(8, batch.getCreatedCount());
+    batch.recycle();
+    assertEquals(8, recycled.size());
+    assertEquals(0, batch.getCreatedCount());
+    assertEquals(9, batch.getRemoteCalls());
+    assertThrows(IllegalArgumentException.class, () -> batch.toDateTimes(Arrays.asList("2018-10-10")));
+    assertThrows(IllegalArgumentException.class, () -> batch.toDateRanges(Arrays.asList(ins), Arrays.asList()));
+    XHodgePodge.invalidateFormatter(session);
+  }
+
+  @Test
+  void testParseZoneTimes () {
+    DateTimeBatch batch = new DateTimeBatch(session(null));
+    batch.resetRemoteCalls();
+    LocalDateTime[] ldts = batch.parseZoneTimes(Arrays.asList("2/29/2000 1:10:09 AM PST", "", null));
+    assertArrayEquals(new LocalDateTime[] { LocalDateTime.of(2000, 2, 29, 1, 10, 9), null, null }, ldts);
+    assertEquals(0, batch.getRemoteCalls());
+  }
+
+}
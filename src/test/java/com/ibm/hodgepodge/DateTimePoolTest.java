@@ -0,0 +1,104 @@
+package com.ibm.hodgepodge;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+
+import org.junit.jupiter.api.Test;
+
+import lotus.domino.DateTime;
+import lotus.domino.International;
+import lotus.domino.Session;
+
+class DateTimePoolTest {
+
+  private static final International US = new International(":", "/", "MDY", false, "AM", "PM");
+
+  // Every call made on a Notes object, by method name
+  private final List<String> calls = new ArrayList<>();
+  private final List<Object> recycled = new ArrayList<>();
+  private Object[] lastArgs;
+
+  private DateTime dateTime () {
+    return (DateTime) Proxy.newProxyInstance(DateTime.class.getClassLoader(), new Class<?>[] { DateTime.class },
+        (proxy, method, args) -> {
+          this.calls.add(method.getName());
+          this.lastArgs = args;
+          return null;
+        });
+  }
+
+  private Session session () {
+    return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[] { Session.class },
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "hashCode": return System.identityHashCode(proxy);
+            case "equals": return proxy == args[0];
+            case "getInternational": return US;
+            default: break;
+          }
+          this.calls.add(method.getName());
+          if (method.getName().equals("createDateTime")) {
+            return this.dateTime();
+          }
+          if (method.getName().equals("recycle")) {
+            this.recycled.addAll((Vector<?>) args[0]);
+          }
+          return null;
+        });
+  }
+
+  @Test
+  void testReuse () {
+    Session session = this.session();
+    DateTimePool pool = new DateTimePool(session);
+    Instant ins = Instant.parse("2018-10-10T05:10:09Z");
+    DateTime a = pool.acquire(ins);
+    DateTime b = pool.acquire(ins.atZone(ZoneId.of("Asia/Kolkata")));
+    assertNotSame(a, b);
+    pool.release(a);
+    assertSame(a, pool.acquire(ins.plusSeconds(60)));
+    assertEquals("setLocalTime", this.calls.get(this.calls.size() - 1));
+    // Wildcarded values only reuse their own kind
+    DateTime d = pool.acquire(LocalDate.of(2018, 10, 10));
+    pool.releaseDate(d);
+    DateTime t = pool.acquire(LocalTime.of(5, 10));
+    assertNotSame(d, t);
+    pool.releaseTime(t);
+    assertSame(d, pool.acquire(LocalDate.of(2019, 1, 1)));
+    assertEquals("setLocalDate", this.calls.get(this.calls.size() - 1));
+    assertSame(t, pool.acquire(LocalTime.of(6, 10, 30, 990000000)));
+    // Whole seconds, the same as a new DateTime would have
+    assertArrayEquals(new Object[] { 6, 10, 30, 0 }, this.lastArgs);
+    assertEquals(4, pool.getCreatedCount());
+    assertEquals(3, pool.getReusedCount());
+    XHodgePodge.invalidateFormatter(session);
+  }
+
+  @Test
+  void testClose () {
+    DateTimePool pool;
+    try (DateTimePool p = new DateTimePool(this.session())) {
+      pool = p;
+      DateTime a = p.acquire(Instant.EPOCH);
+      p.release(a);
+      p.acquire(Instant.EPOCH);
+      p.acquire(Instant.EPOCH);
+    }
+    assertEquals(2, this.recycled.size());
+    assertEquals(1, this.calls.stream().filter("recycle"::equals).count());
+    assertThrows(IllegalStateException.class, () -> pool.acquire(Instant.EPOCH));
+  }
+
+}
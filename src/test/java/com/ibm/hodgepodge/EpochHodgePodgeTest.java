@@ -0,0 +1,77 @@
+package com.ibm.hodgepodge;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EpochHodgePodgeTest {
+
+  Random rand = new Random();
+
+  private long randomEpochMilli () {
+    // Roughly 1700 to 2240, including negative values
+    return (this.rand.nextLong() % 8500000000000L);
+  }
+
+  @Test
+  void testEpochMilliAndLocalDateTime () {
+    for (int i = 0; i < 1000; i++) {
+      long x = this.randomEpochMilli();
+      LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochMilli(x), ZoneOffset.UTC);
+      LocalDateTime y = EpochHodgePodge.toLocalDateTime(x);
+      Assertions.assertEquals(expected, y);
+      Assertions.assertEquals(expected.toLocalDate(), EpochHodgePodge.toLocalDate(x));
+      Assertions.assertEquals(expected.toLocalTime(), EpochHodgePodge.toLocalTime(x));
+      Assertions.assertEquals(x, EpochHodgePodge.toEpochMilli(y));
+      Assertions.assertEquals(x, EpochHodgePodge.toEpochMilli(y.toLocalTime(), y.toLocalDate()));
+    }
+  }
+
+  @Test
+  void testEpochDayAndNanoOfDay () {
+    for (int i = 0; i < 1000; i++) {
+      long x = this.randomEpochMilli();
+      long day = EpochHodgePodge.toEpochDay(x);
+      long nod = EpochHodgePodge.toNanoOfDay(x);
+      Assertions.assertTrue(nod >= 0);
+      Assertions.assertEquals(x, EpochHodgePodge.toEpochMilli(day, nod));
+      LocalDate ld = LocalDate.ofEpochDay(day);
+      Assertions.assertEquals(day, EpochHodgePodge.toEpochDay(ld.getYear(), ld.getMonthValue(), ld.getDayOfMonth()));
+      int packed = ld.getYear() * 10000 + ld.getMonthValue() * 100 + ld.getDayOfMonth();
+      Assertions.assertEquals(packed, EpochHodgePodge.toPackedDate(day));
+      LocalTime lt = LocalTime.ofNanoOfDay(nod);
+      Assertions.assertEquals(nod, EpochHodgePodge.toNanoOfDay(lt.getHour(), lt.getMinute(), lt.getSecond(), lt.getNano()));
+    }
+  }
+
+  @Test
+  void testEpochMilliFromLegacyAndZoned () {
+    for (int i = 0; i < 100; i++) {
+      long x = this.randomEpochMilli();
+      Assertions.assertEquals(x, EpochHodgePodge.toEpochMilli(new Date(x)));
+      Assertions.assertEquals(x, EpochHodgePodge.toEpochMilli(HodgePodge.toCalendar(new Date(x))));
+      Assertions.assertEquals(x, EpochHodgePodge.toEpochMilli(Instant.ofEpochMilli(x)));
+      ZonedDateTime zdt = Instant.ofEpochMilli(x).atZone(ZoneId.of("Australia/Adelaide"));
+      Assertions.assertEquals(x, EpochHodgePodge.toEpochMilli(zdt));
+    }
+  }
+
+  @Test
+  void testInvalidFields () {
+    Assertions.assertThrows(DateTimeException.class, () -> EpochHodgePodge.toEpochDay(2019, 2, 29));
+    Assertions.assertThrows(DateTimeException.class, () -> EpochHodgePodge.toEpochDay(2019, 13, 1));
+    Assertions.assertThrows(DateTimeException.class, () -> EpochHodgePodge.toNanoOfDay(24, 0, 0, 0));
+    Assertions.assertEquals(LocalDate.of(2000, 2, 29).toEpochDay(), EpochHodgePodge.toEpochDay(2000, 2, 29));
+  }
+
+}
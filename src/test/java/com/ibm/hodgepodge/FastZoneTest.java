@@ -0,0 +1,84 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class FastZoneTest {
+
+  private static final String[] ZONES = { "America/New_York", "Europe/London", "Australia/Lord_Howe",
+      "Asia/Kolkata", "Africa/Casablanca", "America/Sao_Paulo", "Pacific/Apia", "UTC" };
+
+  Random rand = new Random();
+
+  @Test
+  void testRandomInstants () {
+    for (String zone : ZONES) {
+      ZoneId zid = ZoneId.of(zone);
+      ZoneRules rules = zid.getRules();
+      FastZone fz = FastZone.register(zid, 1990, 2030);
+      try {
+        for (int i = 0; i < 2000; i++) {
+          // Mostly inside the window, some outside
+          long millis = this.rand.nextLong() % 3000000000000L;
+          Instant ins = Instant.ofEpochMilli(millis);
+          Assertions.assertEquals(rules.getOffset(ins), fz.getOffset(millis));
+          Assertions.assertEquals(LocalDateTime.ofInstant(ins, zid), fz.toLocalDateTime(millis));
+        }
+      } finally {
+        FastZone.unregister(zid);
+      }
+    }
+  }
+
+  @Test
+  void testTransitions () {
+    for (String zone : ZONES) {
+      ZoneId zid = ZoneId.of(zone);
+      ZoneRules rules = zid.getRules();
+      FastZone fz = FastZone.register(zid);
+      try {
+        ZoneOffsetTransition trans = rules.nextTransition(Instant.parse("1970-01-01T00:00:00Z"));
+        while (trans != null && trans.getInstant().isBefore(Instant.parse("2069-01-01T00:00:00Z"))) {
+          long t = trans.toEpochSecond() * 1000L;
+          for (long m : new long[] { t - 1000, t - 1, t, t + 1, t + 1000 }) {
+            Assertions.assertEquals(rules.getOffset(Instant.ofEpochMilli(m)), fz.getOffset(m), zone + " " + m);
+          }
+          trans = rules.nextTransition(trans.getInstant());
+        }
+      } finally {
+        FastZone.unregister(zid);
+      }
+    }
+  }
+
+  @Test
+  void testHodgePodgeUsesRegisteredZone () {
+    ZoneId zid = ZoneId.of("Australia/Adelaide");
+    FastZone.register(zid);
+    try {
+      Assertions.assertSame(FastZone.of(zid), FastZone.of(ZoneId.of("Australia/Adelaide")));
+      for (int i = 0; i < 100; i++) {
+        long millis = this.rand.nextLong() % 3000000000000L;
+        Calendar cal = new GregorianCalendar(TimeZone.getTimeZone(zid));
+        cal.setTime(new Date(millis));
+        Assertions.assertEquals(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zid),
+            HodgePodge.toLocalDateTime(cal));
+      }
+    } finally {
+      FastZone.unregister(zid);
+    }
+    Assertions.assertNull(FastZone.of(zid));
+  }
+
+}
@@ -0,0 +1,78 @@
+package com.ibm.hodgepodge;
+
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HodgePodgeConverterTest {
+
+  @Test
+  void testConversions () {
+    Date d = new Date(1539148209000L);
+    Assertions.assertEquals(HodgePodge.toInstant(d), HodgePodgeConverter.convert(d, Instant.class));
+    Assertions.assertEquals(HodgePodge.toZonedDateTime(d), HodgePodgeConverter.convert(d, ZonedDateTime.class));
+    Assertions.assertEquals(HodgePodge.toLocalDate(d), HodgePodgeConverter.convert(d, LocalDate.class));
+    Calendar cal = HodgePodgeConverter.convert(d, Calendar.class);
+    Assertions.assertEquals(d.getTime(), cal.getTimeInMillis());
+    Assertions.assertTrue(cal instanceof GregorianCalendar);
+    Assertions.assertEquals(HodgePodge.toZonedDateTime(cal), HodgePodgeConverter.convert(cal, ZonedDateTime.class));
+    LocalDate ld = LocalDate.of(2018, 10, 9);
+    Assertions.assertEquals(HodgePodge.toDate(ld), HodgePodgeConverter.convert(ld, Date.class));
+    Assertions.assertEquals(ZoneId.of("America/Chicago"),
+        HodgePodgeConverter.convert("Z=6$DO=1$DL=3 2 1 11 1 1$ZX=12$ZN=Central", ZoneId.class));
+  }
+
+  @Test
+  void testIdentityAndNull () {
+    Instant ins = Instant.now();
+    Assertions.assertSame(ins, HodgePodgeConverter.convert(ins, Instant.class));
+    Assertions.assertSame(ins, HodgePodgeConverter.convert(ins, Object.class));
+    Assertions.assertNull(HodgePodgeConverter.convert(null, Instant.class));
+  }
+
+  @Test
+  void testMostSpecificWins () {
+    Timestamp ts = new Timestamp(1539148209000L);
+    ts.setNanos(123456789);
+    Assertions.assertEquals(123456789, HodgePodgeConverter.convert(ts, Instant.class).getNano());
+    Assertions.assertEquals(123456789, HodgePodgeConverter.convert(ts, LocalDateTime.class).getNano());
+    Assertions.assertEquals(java.sql.Date.class, HodgePodgeConverter.convert(LocalDate.of(2000, 1, 1), java.sql.Date.class).getClass());
+  }
+
+  @Test
+  void testConverterFunction () {
+    Function<Date, LocalDateTime> fn = HodgePodgeConverter.converter(Date.class, LocalDateTime.class);
+    Date d = new Date(0L);
+    Assertions.assertEquals(HodgePodge.toLocalDateTime(d), fn.apply(d));
+    Assertions.assertNull(fn.apply(null));
+  }
+
+  @Test
+  void testUnsupported () {
+    Assertions.assertFalse(HodgePodgeConverter.canConvert(Integer.class, Instant.class));
+    Assertions.assertTrue(HodgePodgeConverter.canConvert(Date.class, Instant.class));
+    Assertions.assertThrows(DateTimeException.class, () -> HodgePodgeConverter.convert(42, Instant.class));
+  }
+
+  @Test
+  void testAmbiguous () {
+    // A Date can become several kinds of Temporal, none better than the others
+    Assertions.assertFalse(HodgePodgeConverter.canConvert(Date.class, Temporal.class));
+    Assertions.assertFalse(HodgePodgeConverter.canConvert(Date.class, Temporal.class));
+    Assertions.assertThrows(DateTimeException.class, () -> HodgePodgeConverter.convert(new Date(), Temporal.class));
+    Assertions.assertThrows(DateTimeException.class, () -> HodgePodgeConverter.converter(Date.class, Temporal.class));
+  }
+
+}
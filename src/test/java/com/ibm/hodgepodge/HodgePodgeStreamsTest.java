@@ -0,0 +1,74 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HodgePodgeStreamsTest {
+
+  Random rand = new Random();
+
+  private List<Date> randomDates (final int n) {
+    List<Date> dates = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      dates.add(new Date(this.rand.nextLong() % 2000000000000L));
+    }
+    return dates;
+  }
+
+  @Test
+  void testFunctions () {
+    List<Date> dates = this.randomDates(100);
+    List<Instant> instants = dates.stream().map(HodgePodgeStreams.DATE_TO_INSTANT).collect(Collectors.toList());
+    List<Date> dates2 = instants.stream().map(HodgePodgeStreams.INSTANT_TO_DATE).collect(Collectors.toList());
+    Assertions.assertEquals(dates, dates2);
+    long[] millis = dates.stream().mapToLong(HodgePodgeStreams.DATE_TO_EPOCH_MILLI).toArray();
+    for (int i = 0; i < millis.length; i++) {
+      Assertions.assertEquals(dates.get(i).getTime(), millis[i]);
+      Assertions.assertEquals(HodgePodge.toLocalDate(dates.get(i)),
+          HodgePodgeStreams.EPOCH_MILLI_TO_LOCAL_DATE.apply(millis[i]));
+    }
+  }
+
+  @Test
+  void testEpochMilliArray () {
+    List<Date> dates = this.randomDates(1000);
+    long[] expected = dates.stream().mapToLong(Date::getTime).toArray();
+    Assertions.assertArrayEquals(expected,
+        dates.stream().collect(HodgePodgeStreams.toEpochMilliArray(HodgePodgeStreams.DATE_TO_EPOCH_MILLI)));
+    Assertions.assertArrayEquals(expected,
+        dates.parallelStream().collect(HodgePodgeStreams.toEpochMilliArray(HodgePodgeStreams.DATE_TO_EPOCH_MILLI)));
+  }
+
+  @Test
+  void testSortedInstantArray () {
+    List<Date> dates = this.randomDates(1000);
+    Instant[] expected = dates.stream().map(Date::toInstant).sorted().toArray(Instant[]::new);
+    Assertions.assertArrayEquals(expected, dates.parallelStream().collect(HodgePodgeStreams.toSortedInstantArray()));
+  }
+
+  @Test
+  void testGroupingByLocalDate () {
+    ZoneId zone = ZoneId.of("America/New_York");
+    List<Date> dates = this.randomDates(1000);
+    // Make sure some dates share a day
+    dates.addAll(dates.subList(0, 100));
+    Map<LocalDate, List<Date>> expected = dates.stream()
+        .collect(Collectors.groupingBy(d -> d.toInstant().atZone(zone).toLocalDate()));
+    SortedMap<LocalDate, List<Date>> actual = dates.stream().collect(HodgePodgeStreams.groupingByLocalDate(zone));
+    Assertions.assertEquals(expected, actual);
+    SortedMap<LocalDate, List<Date>> parallel = dates.parallelStream().collect(HodgePodgeStreams.groupingByLocalDate(zone));
+    Assertions.assertEquals(expected, parallel);
+  }
+
+}
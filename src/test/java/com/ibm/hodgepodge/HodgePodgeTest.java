@@ -1,5 +1,6 @@
 package com.ibm.hodgepodge;
 
+import java.lang.management.ManagementFactory;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -213,6 +214,81 @@ class HodgePodgeTest {
     }
   }
 
+  @Test
+  void testReusedCalendar () {
+    Calendar target = HodgePodge.threadCalendar();
+    Assertions.assertSame(target, HodgePodge.threadCalendar());
+    for (int i = 0; i < 10; i++) {
+      Instant x = this.randomInstant();
+      Calendar y = HodgePodge.toCalendar(x, target);
+      Assertions.assertSame(target, y);
+      Assertions.assertTrue(this.checkDateTime(x, y));
+      Date d = this.randomDate();
+      TimeZone z = TimeZone.getTimeZone(this.randomZoneId());
+      y = HodgePodge.toCalendar(d, z, target);
+      Assertions.assertEquals(HodgePodge.toCalendar(d, z).getTimeInMillis(), y.getTimeInMillis());
+      Assertions.assertEquals(z, y.getTimeZone());
+      LocalDate ld = this.randomLocalDate();
+      y = HodgePodge.toCalendar(ld, target);
+      Assertions.assertTrue(this.checkDate(ld, y));
+      LocalTime lt = this.randomLocalTime();
+      y = HodgePodge.toCalendar(lt, target);
+      Assertions.assertTrue(this.checkTime(lt, y));
+      ZonedDateTime zdt = this.randomZonedDateTime();
+      y = HodgePodge.toCalendar(zdt, target);
+      Assertions.assertEquals(HodgePodge.toCalendar(zdt).getTimeInMillis(), y.getTimeInMillis());
+      Assertions.assertEquals(zdt.getZone(), y.getTimeZone().toZoneId());
+      LocalDateTime ldt = zdt.toLocalDateTime();
+      y = HodgePodge.toCalendar(ldt, target);
+      Assertions.assertEquals(zdt.toInstant().toEpochMilli(), y.getTimeInMillis());
+    }
+  }
+
+  @Test
+  void testThreadCalendarZone () {
+    ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+    HodgePodge.toCalendar(Instant.EPOCH, HodgePodge.threadCalendar());
+    // The zone is given, rather than left over from the last conversion
+    LocalDateTime ldt = LocalDateTime.of(2018, 10, 9, 23, 10, 9);
+    Calendar y = HodgePodge.toCalendar(ldt, kolkata, HodgePodge.threadCalendar());
+    Assertions.assertEquals(kolkata, y.getTimeZone().toZoneId());
+    Assertions.assertEquals(ldt.atZone(kolkata).toInstant().toEpochMilli(), y.getTimeInMillis());
+    LocalDate ld = ldt.toLocalDate();
+    y = HodgePodge.toCalendar(ld, ZoneOffset.UTC, HodgePodge.threadCalendar());
+    Assertions.assertEquals(ld.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli(), y.getTimeInMillis());
+    y = HodgePodge.toCalendar(ldt.toLocalTime(), kolkata, HodgePodge.threadCalendar());
+    Assertions.assertEquals(kolkata, y.getTimeZone().toZoneId());
+    Assertions.assertEquals(23, y.get(Calendar.HOUR_OF_DAY));
+  }
+
+  @Test
+  void testThreadCalendarGarbage () {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+      return;
+    }
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+    long id = Thread.currentThread().getId();
+    Instant ins = Instant.parse("2018-10-10T05:10:09Z");
+    LocalDateTime ldt = LocalDateTime.of(2018, 10, 9, 23, 10, 9);
+    ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+    for (int pass = 0; pass < 2; pass++) {
+      // The first pass warms up the caches
+      long before = threads.getThreadAllocatedBytes(id);
+      for (int i = 0; i < 10000; i++) {
+        HodgePodge.toCalendar(ins, HodgePodge.threadCalendar());
+      }
+      for (int i = 0; i < 10000; i++) {
+        HodgePodge.toCalendar(ldt, kolkata, HodgePodge.threadCalendar());
+      }
+      long bytes = threads.getThreadAllocatedBytes(id) - before;
+      if (pass == 1) {
+        // Much less than a byte per call, allowing for the measurement itself
+        Assertions.assertTrue(bytes < 2000, bytes + " bytes allocated");
+      }
+    }
+  }
+
   @Test
   void testCalendarAndZonedDateTime () {
     for (int i = 0; i < 10; i++) {
@@ -268,4 +344,17 @@ class HodgePodgeTest {
     } 
   }
 
+  @Test
+  void testInstantToLocalDateAndTime () {
+    for (int i = 0; i < 1000; i++) {
+      Instant x = this.randomInstant().plusNanos(this.rand.nextInt(1000000000));
+      ZoneId z = this.randomZoneId();
+      Assertions.assertEquals(x.atZone(z).toLocalDate(), HodgePodge.toLocalDate(x, z));
+      Assertions.assertEquals(x.atZone(z).toLocalTime(), HodgePodge.toLocalTime(x, z));
+    }
+    Instant before1970 = Instant.parse("1969-12-31T23:59:59.5Z");
+    Assertions.assertEquals(LocalDate.of(1969, 12, 31), HodgePodge.toLocalDate(before1970, ZoneOffset.UTC));
+    Assertions.assertEquals(LocalTime.of(23, 59, 59, 500000000), HodgePodge.toLocalTime(before1970, ZoneOffset.UTC));
+  }
+
 }
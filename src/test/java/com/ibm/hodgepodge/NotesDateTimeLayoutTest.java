@@ -0,0 +1,90 @@
+package com.ibm.hodgepodge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import lotus.domino.International;
+
+class NotesDateTimeLayoutTest {
+
+  private void checkAgainstFormatter (final International i18n) {
+    NotesDateTimeLayout layout = XHodgePodge.getLayout(i18n);
+    DateTimeFormatter dtf = XHodgePodge.getFormatter(i18n);
+    Random rnd = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      LocalDateTime ldt = LocalDateTime.ofEpochSecond(rnd.nextInt(), 0, ZoneOffset.UTC).plusYears(70);
+      String s = dtf.format(ldt) + " ZE5B";
+      assertEquals(ldt, layout.parseLocalDateTime(s), s);
+      assertEquals(ldt.toEpochSecond(ZoneOffset.UTC), layout.parseLocalEpochSecond(s), s);
+      // Formatting a date and a time gives text the layout reads back
+      String f = layout.formatDate(ldt.toLocalDate()) + " " + layout.formatTime(ldt.toLocalTime());
+      assertEquals(ldt, layout.parseLocalDateTime(f), f);
+    }
+  }
+
+  @Test
+  void testLayouts () {
+    this.checkAgainstFormatter(new International(":", "/", "MDY", false, "AM", "PM"));
+    this.checkAgainstFormatter(new International(":", ".", "DMY", true, "AM", "PM"));
+    this.checkAgainstFormatter(new International(":", "-", "YMD", true, "AM", "PM"));
+    this.checkAgainstFormatter(new International(".", ". ", "YMD", false, "vorm.", "nachm."));
+  }
+
+  @Test
+  void testZoneTimes () {
+    NotesDateTimeLayout us = XHodgePodge.getLayout(new International(":", "/", "MDY", false, "AM", "PM"));
+    assertEquals(LocalDateTime.of(2018, 10, 9, 23, 10, 9), us.parseLocalDateTime("10/9/2018 11:10:09 PM MST"));
+    assertEquals(LocalDateTime.of(1952, 1, 11, 0, 10, 9), us.parseLocalDateTime("1/11/1952 12:10:09 AM EDT"));
+    assertEquals(LocalDateTime.of(1952, 1, 11, 12, 10, 9), us.parseLocalDateTime("1/11/1952 12:10:09 PM"));
+    NotesDateTimeLayout de = XHodgePodge.getLayout(new International(":", ".", "DMY", true, "AM", "PM"));
+    assertEquals(LocalDateTime.of(2019, 12, 29, 8, 12, 31), de.parseLocalDateTime("29.12.2019 8:12:31 CET"));
+    // Only the given range is read
+    String s = "[29.2.2000 15:44:55]";
+    assertEquals(LocalDateTime.of(2000, 2, 29, 15, 44, 55), de.parseLocalDateTime(s, 1, s.length() - 1));
+    // Days past the end of the month are resolved like DateTimeFormatter does
+    assertEquals(LocalDateTime.of(2001, 2, 28, 15, 44, 55), de.parseLocalDateTime("30.2.2001 15:44:55"));
+  }
+
+  @Test
+  void testFormat () {
+    NotesDateTimeLayout us = XHodgePodge.getLayout(new International(":", "/", "MDY", false, "AM", "PM"));
+    assertEquals("10/9/2018", us.formatDate(LocalDate.of(2018, 10, 9)));
+    assertEquals("1/11/0952", us.formatDate(LocalDate.of(952, 1, 11)));
+    assertEquals("12:05:09 AM", us.formatTime(LocalTime.of(0, 5, 9, 999999999)));
+    assertEquals("12:10:00 PM", us.formatTime(LocalTime.NOON.plusMinutes(10)));
+    NotesDateTimeLayout de = XHodgePodge.getLayout(new International(":", ".", "DMY", true, "AM", "PM"));
+    assertEquals("29.2.2000", de.formatDate(LocalDate.of(2000, 2, 29)));
+    assertEquals("8:12:31", de.formatTime(LocalTime.of(8, 12, 31)));
+  }
+
+  @Test
+  void testErrors () {
+    NotesDateTimeLayout us = XHodgePodge.getLayout(new International(":", "/", "MDY", false, "AM", "PM"));
+    assertThrows(DateTimeParseException.class, () -> us.parseLocalEpochSecond("10/9/2018 11:10:09"));
+    assertThrows(DateTimeParseException.class, () -> us.parseLocalEpochSecond("10/9/2018 13:10:09 PM"));
+    assertThrows(DateTimeParseException.class, () -> us.parseLocalEpochSecond("10/9/2018 11:1:09 PM"));
+    assertThrows(DateTimeParseException.class, () -> us.parseLocalEpochSecond("10/9/2018 11:10:09 PMT"));
+    assertThrows(DateTimeParseException.class, () -> us.parseLocalEpochSecond("13/9/2018 11:10:09 PM"));
+    assertThrows(DateTimeParseException.class, () -> us.parseLocalEpochSecond("10-9-2018 11:10:09 PM"));
+    assertThrows(DateTimeParseException.class, () -> us.parseLocalEpochSecond(""));
+  }
+
+  @Test
+  void testLayoutCache () {
+    International us = new International(":", "/", "MDY", false, "AM", "PM");
+    International us2 = new International(":", "/", "MDY", false, "AM", "PM");
+    assertSame(XHodgePodge.getLayout(us), XHodgePodge.getLayout(us2));
+  }
+
+}
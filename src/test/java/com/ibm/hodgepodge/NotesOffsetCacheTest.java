@@ -0,0 +1,49 @@
+package com.ibm.hodgepodge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+import lotus.domino.International;
+
+class NotesOffsetCacheTest {
+
+  private static long key (final NotesDateTimeLayout layout, final String s) {
+    return NotesOffsetCache.key(s, layout.zoneStart(s, 0, s.length()), s.length(), layout.parseLocalEpochSecond(s));
+  }
+
+  @Test
+  void testKeys () {
+    NotesDateTimeLayout us = XHodgePodge.getLayout(new International(":", "/", "MDY", false, "AM", "PM"));
+    long k = key(us, "10/9/2018 11:10:09 PM EDT");
+    assertNotEquals(NotesOffsetCache.NO_KEY, k);
+    assertEquals(k, key(us, "10/9/2018 01:00:00 AM EDT"));
+    // Any day of the year shares the entry, but not another year
+    assertEquals(k, key(us, "4/10/2018 01:00:00 AM EDT"));
+    assertNotEquals(k, key(us, "10/10/2019 01:00:00 AM EDT"));
+    assertNotEquals(k, key(us, "10/9/2018 01:00:00 AM EST"));
+    // No zone, or one we can't pack
+    assertEquals(NotesOffsetCache.NO_KEY, key(us, "10/9/2018 11:10:09 PM"));
+    assertEquals(NotesOffsetCache.NO_KEY, key(us, "10/9/2018 11:10:09 PM LONGER"));
+    NotesDateTimeLayout de = XHodgePodge.getLayout(new International(":", ".", "DMY", true, "AM", "PM"));
+    assertEquals(NotesOffsetCache.NO_KEY, key(de, "9.10.2018 23:10:09"));
+    assertNotEquals(NotesOffsetCache.NO_KEY, key(de, "9.10.2018 23:10:09 CEDT"));
+  }
+
+  @Test
+  void testEviction () {
+    NotesOffsetCache cache = new NotesOffsetCache(2);
+    cache.put(1, 3600);
+    cache.put(2, 7200);
+    assertEquals(3600, cache.get(1));
+    // Full, so it starts again
+    cache.put(3, 0);
+    assertEquals(1, cache.size());
+    assertEquals(NotesOffsetCache.NO_OFFSET, cache.get(1));
+    assertEquals(NotesOffsetCache.NO_OFFSET, cache.get(2));
+    assertEquals(0, cache.get(3));
+    assertEquals(NotesOffsetCache.NO_OFFSET, cache.get(NotesOffsetCache.NO_KEY));
+  }
+
+}
@@ -0,0 +1,29 @@
+package com.ibm.hodgepodge;
+
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class NotesShortZonesTest {
+
+  @Test
+  void testMatchesStringVersion () {
+    for (String name : new String[] { "ADT", "CEDT", "NST", "YW1", "ZE5C", "ZE13", "ZW12", "ZE9B" }) {
+      String text = "10/9/2018 11:10:09 PM " + name;
+      ZoneOffset zo = XHodgePodge.decodeNotesShortZone(text, text.length() - name.length(), name.length());
+      Assertions.assertEquals(ZoneOffset.of(XHodgePodge.decodeNotesShortZone(name)), zo, name);
+      Assertions.assertSame(zo, XHodgePodge.decodeNotesShortZone(new StringBuilder(name), 0, name.length()));
+    }
+  }
+
+  @Test
+  void testUnknown () {
+    Assertions.assertNull(XHodgePodge.decodeNotesShortZone("XYZ", 0, 3));
+    Assertions.assertNull(XHodgePodge.decodeNotesShortZone("CEDTX", 0, 5));
+    Assertions.assertNull(XHodgePodge.decodeNotesShortZone("CEDT", 0, 2));
+    Assertions.assertNull(XHodgePodge.decodeNotesShortZone("", 0, 0));
+    Assertions.assertNull(XHodgePodge.decodeNotesShortZone("\u00c9ST", 0, 3));
+  }
+
+}
@@ -0,0 +1,46 @@
+package com.ibm.hodgepodge;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class NotesZoneCacheTest {
+
+  private static final String EASTERN = "Z=5$DO=1$DL=3 2 1 11 1 1$ZX=9$ZN=Eastern";
+  private static final String INDIA = "Z=-55$DO=0$ZX=31$ZN=India";
+  private static final String UNKNOWN = "ZX=9$ZN=Nowhere In Particular";
+  private static final String UNNAMED = "Z=-55$DO=0$ZX=31$ZN=Nowhere In Particular";
+
+  @Test
+  void testLookups () {
+    NotesZoneCache.clear();
+    NotesZoneCache.resetStatistics();
+    Assertions.assertEquals(ZoneId.of("America/New_York"), XHodgePodge.toZoneId(EASTERN));
+    Assertions.assertEquals(ZoneId.of("Asia/Kolkata"), NotesZoneCache.toZoneId(INDIA));
+    Assertions.assertEquals(2, NotesZoneCache.getMisses());
+    Assertions.assertSame(NotesZoneCache.toZoneId(EASTERN), XHodgePodge.toZoneId(EASTERN));
+    Assertions.assertEquals(ZoneId.of("Asia/Kolkata").getRules(), NotesZoneCache.getRules(INDIA));
+    Assertions.assertEquals(3, NotesZoneCache.getHits());
+    Assertions.assertEquals(2, NotesZoneCache.size());
+  }
+
+  @Test
+  void testUnknownZonesAreCached () {
+    NotesZoneCache.clear();
+    NotesZoneCache.resetStatistics();
+    Assertions.assertNull(NotesZoneCache.toZoneId(UNKNOWN));
+    Assertions.assertNull(NotesZoneCache.getRules(UNKNOWN));
+    Assertions.assertNull(NotesZoneCache.toZoneId("garbage"));
+    Assertions.assertEquals(2, NotesZoneCache.getMisses());
+    Assertions.assertEquals(1, NotesZoneCache.getHits());
+  }
+
+  @Test
+  void testFallbackToRules () {
+    Assertions.assertEquals(ZoneOffset.ofHoursMinutes(5, 30), NotesZoneCache.toZoneId(UNNAMED));
+    Assertions.assertTrue(NotesZoneCache.getRules(UNNAMED).isFixedOffset());
+  }
+
+}
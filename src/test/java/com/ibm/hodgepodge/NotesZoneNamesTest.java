@@ -0,0 +1,50 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class NotesZoneNamesTest {
+
+  @Test
+  void testKnownZones () {
+    Assertions.assertEquals("Z=5$DO=1$DL=3 2 1 11 1 1$ZN=Eastern",
+        XHodgePodge.toNotesTimeZone(ZoneId.of("America/New_York")));
+    Assertions.assertEquals("Z=-55$DO=0$ZN=India", XHodgePodge.toNotesTimeZone(ZoneId.of("Asia/Kolkata")));
+    Assertions.assertEquals("Z=-575$DO=0$ZN=Nepal", XHodgePodge.toNotesTimeZone(ZoneId.of("Asia/Kathmandu")));
+    Assertions.assertEquals("Z=-10$DO=1$DL=10 1 1 4 1 1$ZN=AUS Eastern",
+        XHodgePodge.toNotesTimeZone(ZoneId.of("Australia/Melbourne")));
+    Assertions.assertEquals("Z=-1$DO=1$DL=3 -1 1 10 -1 1$ZN=W. Europe",
+        XHodgePodge.toNotesTimeZone(ZoneId.of("Europe/Amsterdam")));
+  }
+
+  @Test
+  void testRoundTrip () {
+    for (String id : new String[] { "America/New_York", "Asia/Kolkata", "Australia/Adelaide", "Europe/London",
+        "Pacific/Chatham", "UTC", "Etc/GMT+12" }) {
+      ZoneId zid = ZoneId.of(id);
+      Assertions.assertEquals(zid, XHodgePodge.toZoneId(XHodgePodge.toNotesTimeZone(zid)), id);
+    }
+  }
+
+  @Test
+  void testUnknownZones () {
+    // An alias with the same rules as a zone in the table gets its Notes name
+    Assertions.assertEquals(XHodgePodge.toNotesTimeZone(ZoneId.of("Asia/Tokyo")),
+        XHodgePodge.toNotesTimeZone(ZoneId.of("Japan")));
+    // Anything else is derived, and its fields describe the same current offsets
+    ZoneId zid = ZoneId.of("America/Detroit");
+    String notes = XHodgePodge.toNotesTimeZone(zid);
+    Assertions.assertEquals("Z=5$DO=1$DL=3 2 1 11 1 1$ZN=America/Detroit", notes);
+    Assertions.assertSame(notes, XHodgePodge.toNotesTimeZone(zid));
+    ZoneRules rules = NotesZoneRules.of(notes);
+    Instant ins = Instant.parse("2030-07-01T12:00:00Z");
+    Assertions.assertEquals(zid.getRules().getOffset(ins), rules.getOffset(ins));
+    Assertions.assertEquals("Z=-3$DO=0$ZN=+03:00", XHodgePodge.toNotesTimeZone(ZoneOffset.ofHours(3)));
+  }
+
+}
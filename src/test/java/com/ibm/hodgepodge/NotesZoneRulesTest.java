@@ -0,0 +1,64 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRules;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class NotesZoneRulesTest {
+
+  // Compares offsets at noon UTC each day, away from the transition times Notes doesn't record
+  private static void assertSameOffsets (final ZoneRules rules, final String javaZone) {
+    ZoneRules expected = ZoneId.of(javaZone).getRules();
+    Instant ins = Instant.parse("2010-01-01T12:00:00Z");
+    for (int i = 0; i < 366 * 20; i++) {
+      Assertions.assertEquals(expected.getOffset(ins), rules.getOffset(ins), ins.toString());
+      ins = ins.plusSeconds(86400);
+    }
+  }
+
+  @Test
+  void testNorthern () {
+    ZoneRules rules = NotesZoneRules.of("Z=5$DO=1$DL=3 2 1 11 1 1$ZX=9$ZN=Not Eastern");
+    assertSameOffsets(rules, "America/New_York");
+    Assertions.assertSame(rules, NotesZoneRules.of("Z=5$DO=1$DL=3 2 1 11 1 1$ZX=12$ZN=Something Else"));
+    assertSameOffsets(NotesZoneRules.of("Z=-1$DO=1$DL=3 -1 1 10 -1 1$ZX=20$ZN=Not Romance"), "Europe/Paris");
+  }
+
+  @Test
+  void testSouthern () {
+    assertSameOffsets(NotesZoneRules.of("Z=-10$DO=1$DL=10 1 1 4 1 1$ZX=70$ZN=Not AUS Eastern"), "Australia/Sydney");
+  }
+
+  @Test
+  void testFixed () {
+    Assertions.assertEquals(ZoneRules.of(ZoneOffset.ofHoursMinutes(5, 30)), NotesZoneRules.of("Z=-55$DO=0$ZN=X"));
+    Assertions.assertEquals(ZoneOffset.ofHoursMinutes(5, 45), NotesZoneRules.standardOffset("Z=-575$DO=0$ZN=X"));
+    Assertions.assertEquals(ZoneOffset.ofHoursMinutes(-3, -30), NotesZoneRules.standardOffset("Z=35$DO=1$ZN=X"));
+    Assertions.assertEquals(ZoneOffset.ofHoursMinutes(12, 45), NotesZoneRules.standardOffset("Z=-1275$ZN=X"));
+    // Daylight saving without a valid period is ignored
+    Assertions.assertTrue(NotesZoneRules.of("Z=5$DO=1$DL=13 2 1 11 1 1$ZN=X").isFixedOffset());
+    Assertions.assertNull(NotesZoneRules.of("DO=0$ZN=X"));
+    Assertions.assertNull(NotesZoneRules.of("Z=abc$ZN=X"));
+  }
+
+  @Test
+  void testAtZone () {
+    ZoneRules rules = NotesZoneRules.of("Z=5$DO=1$DL=3 2 1 11 1 1$ZX=9$ZN=Not Eastern");
+    ZonedDateTime zdt = NotesZoneRules.atZone(LocalDateTime.of(2019, 7, 1, 12, 0), rules);
+    Assertions.assertEquals(ZoneOffset.ofHours(-4), zdt.getZone());
+    // In the spring forward gap
+    zdt = NotesZoneRules.atZone(LocalDateTime.of(2019, 3, 10, 2, 30), rules);
+    Assertions.assertEquals(LocalDateTime.of(2019, 3, 10, 3, 30), zdt.toLocalDateTime());
+    Assertions.assertEquals(ZoneOffset.ofHours(-4), zdt.getOffset());
+    // In the overlap, the earlier offset wins
+    zdt = NotesZoneRules.atZone(LocalDateTime.of(2019, 11, 3, 1, 30), rules);
+    Assertions.assertEquals(ZoneOffset.ofHours(-4), zdt.getOffset());
+  }
+
+}
@@ -0,0 +1,78 @@
+package com.ibm.hodgepodge;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ParallelHodgePodgeTest {
+
+  private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+  Random rand = new Random();
+
+  @AfterAll
+  static void shutdown () {
+    POOL.shutdown();
+  }
+
+  @Test
+  void testArrayOrderPreserved () {
+    ParallelHodgePodge php = new ParallelHodgePodge(POOL, 16);
+    Date[] dates = new Date[10000];
+    for (int i = 0; i < dates.length; i++) {
+      dates[i] = new Date(this.rand.nextLong() % 10000000000000L);
+    }
+    dates[123] = null;
+    Instant[] instants = php.toInstants(dates);
+    LocalDateTime[] ldts = php.toLocalDateTimes(dates);
+    for (int i = 0; i < dates.length; i++) {
+      if (dates[i] == null) {
+        Assertions.assertNull(instants[i]);
+        Assertions.assertNull(ldts[i]);
+      } else {
+        Assertions.assertEquals(HodgePodge.toInstant(dates[i]), instants[i]);
+        Assertions.assertEquals(HodgePodge.toLocalDateTime(dates[i]), ldts[i]);
+      }
+    }
+  }
+
+  @Test
+  void testListOrderPreserved () {
+    ParallelHodgePodge php = new ParallelHodgePodge(POOL, 8);
+    List<Calendar> cals = new LinkedList<>();
+    for (int i = 0; i < 1000; i++) {
+      Calendar cal = new GregorianCalendar(TimeZone.getTimeZone("America/Chicago"));
+      cal.setTimeInMillis(this.rand.nextLong() % 10000000000000L);
+      cals.add(cal);
+    }
+    List<ZonedDateTime> zdts = php.toZonedDateTimes(cals);
+    Assertions.assertEquals(cals.size(), zdts.size());
+    List<Calendar> expected = new ArrayList<>(cals);
+    for (int i = 0; i < expected.size(); i++) {
+      Assertions.assertEquals(HodgePodge.toZonedDateTime(expected.get(i)), zdts.get(i));
+    }
+  }
+
+  @Test
+  void testSmallInputIsSequential () {
+    ParallelHodgePodge php = new ParallelHodgePodge();
+    Date[] dates = { new Date(0L), new Date(86400000L) };
+    Instant[] instants = php.toInstants(dates);
+    Assertions.assertEquals(Instant.EPOCH, instants[0]);
+    Assertions.assertEquals(Instant.ofEpochSecond(86400L), instants[1]);
+  }
+
+}
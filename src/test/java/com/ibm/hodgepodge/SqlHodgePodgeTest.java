@@ -0,0 +1,110 @@
+package com.ibm.hodgepodge;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SqlHodgePodgeTest {
+
+  Random rand = new Random();
+
+  private Instant randomInstant () {
+    return Instant.ofEpochSecond(this.rand.nextLong() % 10000000000L, this.rand.nextInt(1000000000));
+  }
+
+  /**
+   * A ResultSet over a single column of Timestamps; only next and getTimestamp work.
+   */
+  private static ResultSet resultSet (final Timestamp[] rows) {
+    int[] pos = { -1 };
+    return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "next": return ++pos[0] < rows.length;
+            case "getTimestamp": return rows[pos[0]];
+            default: throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  @Test
+  void testTimestampAndInstant () {
+    for (int i = 0; i < 100; i++) {
+      Instant x = this.randomInstant();
+      Timestamp y = SqlHodgePodge.toTimestamp(x);
+      Assertions.assertEquals(Timestamp.from(x), y);
+      Instant x2 = SqlHodgePodge.toInstant(y);
+      Assertions.assertEquals(x, x2);
+      Assertions.assertEquals(y.toInstant(), x2);
+    }
+  }
+
+  @Test
+  void testTimestampAndLocalDateTime () {
+    for (int i = 0; i < 100; i++) {
+      LocalDateTime x = LocalDateTime.ofInstant(this.randomInstant(), ZoneOffset.UTC);
+      Timestamp y = SqlHodgePodge.toTimestamp(x);
+      Assertions.assertEquals(x.getNano(), y.getNanos());
+      Assertions.assertEquals(x, SqlHodgePodge.toLocalDateTime(y));
+      Assertions.assertEquals(x.atOffset(ZoneOffset.UTC).toZonedDateTime(), SqlHodgePodge.toZonedDateTime(y));
+      Assertions.assertEquals(y, SqlHodgePodge.toTimestamp(SqlHodgePodge.toZonedDateTime(y)));
+    }
+  }
+
+  @Test
+  void testSqlDateAndTime () {
+    for (int i = 0; i < 100; i++) {
+      LocalDate ld = LocalDate.ofEpochDay(this.rand.nextInt(100000) - 50000);
+      java.sql.Date d = SqlHodgePodge.toSqlDate(ld);
+      Assertions.assertEquals(TimeFormats.toDate(d), TimeFormats.toDate(ld));
+      Assertions.assertEquals(ld, SqlHodgePodge.toLocalDate(d));
+      LocalTime lt = LocalTime.ofSecondOfDay(this.rand.nextInt(86400));
+      Time t = SqlHodgePodge.toSqlTime(lt);
+      Assertions.assertEquals(lt, SqlHodgePodge.toLocalTime(t));
+    }
+  }
+
+  @Test
+  void testTimestampColumn () throws SQLException {
+    Timestamp[] rows = new Timestamp[500];
+    for (int i = 0; i < rows.length; i++) {
+      rows[i] = i % 17 == 0 ? null : Timestamp.from(this.randomInstant());
+    }
+    TimestampColumn col = new TimestampColumn(1, 4);
+    Assertions.assertEquals(rows.length, TimestampColumn.readAll(resultSet(rows), col));
+    Assertions.assertEquals(rows.length, col.size());
+    Instant[] instants = col.toInstants();
+    LocalDateTime[] ldts = col.toLocalDateTimes();
+    LocalDate[] lds = col.toLocalDates();
+    long[] millis = col.toEpochMillis(Long.MIN_VALUE);
+    for (int i = 0; i < rows.length; i++) {
+      if (rows[i] == null) {
+        Assertions.assertTrue(col.isNull(i));
+        Assertions.assertNull(instants[i]);
+        Assertions.assertNull(ldts[i]);
+        Assertions.assertNull(lds[i]);
+        Assertions.assertEquals(Long.MIN_VALUE, millis[i]);
+      } else {
+        Assertions.assertFalse(col.isNull(i));
+        Assertions.assertEquals(rows[i].toInstant(), instants[i]);
+        Assertions.assertEquals(SqlHodgePodge.toLocalDateTime(rows[i]), ldts[i]);
+        Assertions.assertEquals(ldts[i].toLocalDate(), lds[i]);
+        Assertions.assertEquals(rows[i].getTime(), millis[i]);
+      }
+    }
+    col.clear();
+    Assertions.assertEquals(0, col.size());
+  }
+
+}
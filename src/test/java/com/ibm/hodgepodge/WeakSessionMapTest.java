@@ -0,0 +1,62 @@
+package com.ibm.hodgepodge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.Test;
+
+import lotus.domino.Session;
+
+class WeakSessionMapTest {
+
+  // Every proxy is equal to every other, so only identity tells them apart
+  private static Session session () {
+    return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[] { Session.class },
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "hashCode": return 0;
+            case "equals": return true;
+            default: throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  @Test
+  void testIdentity () {
+    WeakSessionMap<String> map = new WeakSessionMap<>();
+    Session a = session();
+    Session b = session();
+    map.put(a, "a");
+    assertEquals("a", map.get(a));
+    assertNull(map.get(b));
+    map.put(b, "b");
+    map.put(a, "a2");
+    assertEquals(2, map.size());
+    assertEquals("a2", map.remove(a));
+    assertFalse(map.containsKey(a));
+    assertTrue(map.containsKey(b));
+    map.clear();
+    assertNull(map.get(b));
+  }
+
+  @Test
+  void testCollected () throws Exception {
+    WeakSessionMap<String> map = new WeakSessionMap<>();
+    Session kept = session();
+    map.put(session(), "dropped");
+    long deadline = System.nanoTime() + 10000000000L;
+    // Adding a value purges the entries of collected Sessions
+    do {
+      assertTrue(System.nanoTime() < deadline);
+      System.gc();
+      Thread.sleep(10);
+      map.put(kept, "kept");
+    } while (map.size() > 1);
+    assertEquals("kept", map.get(kept));
+  }
+
+}
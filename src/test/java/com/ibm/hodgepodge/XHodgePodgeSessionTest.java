@@ -0,0 +1,152 @@
+package com.ibm.hodgepodge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import lotus.domino.DateTime;
+import lotus.domino.International;
+import lotus.domino.Session;
+import lotus.domino.SimulatedSession;
+
+/**
+ * Tests XHodgePodge's conversions to and from DateTimes, using a simulated
+ * Session.
+ */
+class XHodgePodgeSessionTest {
+
+  private static final International US = new International(":", "/", "MDY", false, "AM", "PM");
+  private static final International DE = new International(":", ".", "DMY", true, "AM", "PM");
+
+  private static final ZoneId[] ZONES = {
+    ZoneId.of("America/New_York"), ZoneId.of("Europe/Paris"), ZoneId.of("Asia/Kolkata"),
+    ZoneId.of("Asia/Kathmandu"), ZoneId.of("America/St_Johns"), ZoneId.of("UTC")
+  };
+
+  private final Random rand = new Random(42);
+
+  private ZonedDateTime randomZonedDateTime (final ZoneId z) {
+    LocalDateTime ldt = LocalDateTime.of(this.rand.nextInt(80) + 1980, this.rand.nextInt(12) + 1,
+        this.rand.nextInt(28) + 1, this.rand.nextInt(24), this.rand.nextInt(60), this.rand.nextInt(60));
+    return ZonedDateTime.of(ldt, z);
+  }
+
+  private void checkRoundTrip (final International i18n) {
+    SimulatedSession sim = new SimulatedSession(i18n, ZoneId.of("America/Chicago"));
+    Session session = sim.getSession();
+    for (ZoneId z : ZONES) {
+      for (int i = 0; i < 100; i++) {
+        ZonedDateTime zdt = this.randomZonedDateTime(z);
+        DateTime ndt = XHodgePodge.toDateTime(session, zdt);
+        assertEquals(zdt.toInstant(), XHodgePodge.toInstant(ndt));
+        assertEquals(zdt.toLocalDateTime(), XHodgePodge.toLocalDateTime(ndt));
+        assertEquals(zdt.toOffsetDateTime(), XHodgePodge.toOffsetDateTime(ndt), ndt.getZoneTime());
+      }
+    }
+    XHodgePodge.invalidateFormatter(session);
+  }
+
+  @Test
+  void testRoundTrip () {
+    this.checkRoundTrip(US);
+    this.checkRoundTrip(DE);
+  }
+
+  @Test
+  void testNotesTimeZone () {
+    SimulatedSession sim = new SimulatedSession(US, ZoneId.of("UTC"));
+    ZonedDateTime zdt = ZonedDateTime.of(2018, 10, 9, 23, 10, 9, 0, ZoneId.of("America/New_York"));
+    DateTime ndt = XHodgePodge.toDateTime(sim.getSession(), zdt);
+    assertEquals("10/09/2018 11:10:09 PM EDT", ndt.getZoneTime());
+    assertEquals(zdt, XHodgePodge.toZonedDateTime(ndt, "Z=5$DO=1$DL=3 2 1 11 1 1$ZX=9$ZN=Eastern"));
+    XHodgePodge.invalidateFormatter(sim.getSession());
+  }
+
+  @Test
+  void testOffsetCache () {
+    SimulatedSession sim = new SimulatedSession(US, ZoneId.of("UTC"));
+    Session session = sim.getSession();
+    XHodgePodge.clearOffsetCache();
+    ZonedDateTime zdt = ZonedDateTime.of(2018, 10, 9, 8, 0, 0, 0, ZoneId.of("Asia/Kolkata"));
+    DateTime a = sim.newDateTime(zdt);
+    DateTime b = sim.newDateTime(zdt.plusHours(3));
+    XHodgePodge.toOffsetDateTime(a);
+    sim.resetCalls();
+    // The offset of ZE5B on that day is known, so only the zone time is needed
+    assertEquals(zdt.plusHours(3).toOffsetDateTime(), XHodgePodge.toOffsetDateTime(b));
+    assertEquals(1, sim.getCalls());
+    assertEquals(1, sim.getCalls("DateTime.getZoneTime"));
+    // Months apart, but in the same zone and period
+    sim.resetCalls();
+    for (int i = 1; i <= 5; i++) {
+      ZonedDateTime later = zdt.minusDays(i * 40);
+      assertEquals(later.toOffsetDateTime(), XHodgePodge.toOffsetDateTime(sim.newDateTime(later)));
+    }
+    assertEquals(5, sim.getCalls());
+    XHodgePodge.invalidateFormatter(session);
+  }
+
+  @Test
+  void testWildcards () {
+    SimulatedSession sim = new SimulatedSession(DE, ZoneCache.getSystemDefault());
+    Session session = sim.getSession();
+    XHodgePodge.getLayout(XHodgePodge.getFormatKey(session));
+    sim.resetCalls();
+    DateTime date = XHodgePodge.toDateTime(session, LocalDate.of(2000, 2, 29));
+    DateTime time = XHodgePodge.toDateTime(session, LocalTime.of(15, 44, 55));
+    assertEquals(2, sim.getCalls());
+    assertEquals("29.02.2000", date.getZoneTime());
+    assertEquals("", date.getTimeOnly());
+    assertEquals("15:44:55", time.getZoneTime());
+    assertEquals("", time.getDateOnly());
+    // LocalDateTimes are taken to be in the system default zone
+    LocalDateTime ldt = LocalDateTime.of(2000, 2, 29, 15, 44, 55);
+    assertEquals(ldt, XHodgePodge.toLocalDateTime(XHodgePodge.toDateTime(session, ldt)));
+    XHodgePodge.invalidateFormatter(session);
+  }
+
+  @Test
+  void testLatencyAndRecycling () throws Exception {
+    SimulatedSession sim = new SimulatedSession(US, ZoneId.of("UTC"));
+    Session session = sim.getSession();
+    sim.setLatency(Duration.ofMillis(2));
+    long start = System.nanoTime();
+    List<Instant> values = new ArrayList<>();
+    try (DateTimePool pool = new DateTimePool(session)) {
+      for (int i = 0; i < 5; i++) {
+        Instant ins = Instant.parse("2018-10-10T05:10:09Z").plusSeconds(i * 3600);
+        DateTime ndt = pool.acquire(ins);
+        values.add(XHodgePodge.toInstant(ndt));
+        pool.release(ndt);
+      }
+      assertEquals(1, sim.getLiveObjects());
+    }
+    long elapsed = System.nanoTime() - start;
+    // One create, four reuses, five reads and one recycle
+    assertEquals(11, sim.getCalls());
+    assertTrue(elapsed >= Duration.ofMillis(2 * 11).toNanos());
+    assertEquals(0, sim.getLiveObjects());
+    assertEquals(Instant.parse("2018-10-10T09:10:09Z"), values.get(4));
+    sim.setLatency(Duration.ZERO);
+    DateTimeBatch batch = new DateTimeBatch(session);
+    batch.toDateTimes(Arrays.asList(values.toArray()));
+    assertEquals(5, sim.getLiveObjects());
+    batch.recycle();
+    assertEquals(0, sim.getLiveObjects());
+    XHodgePodge.invalidateFormatter(session);
+  }
+
+}
@@ -1,7 +1,10 @@
 package com.ibm.hodgepodge;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
+import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -47,4 +50,24 @@ class XHodgePodgeTest {
     this.runTest(dtf, "1954-02-09 04:11:11 JST","1954-02-08T19:11:11Z");
   }
 
+  @Test
+  void testFormatterCache () {
+    International us = new International(":", "/", "MDY", false, "AM", "PM");
+    International us2 = new International(":", "/", "MDY", false, "AM", "PM");
+    International de = new International(":", ".", "DMY", true, "AM", "PM");
+    DateTimeFormatter usf = XHodgePodge.getFormatter(us);
+    assertSame(usf, XHodgePodge.getFormatter(us2));
+    assertNotSame(usf, XHodgePodge.getFormatter(de));
+    assertEquals(LocalDateTime.of(2018, 10, 9, 23, 10, 9), LocalDateTime.from(usf.parse("10/9/2018 11:10:09 PM")));
+    assertEquals(LocalDateTime.of(2018, 9, 8, 9, 42, 55), LocalDateTime.from(XHodgePodge.getFormatter(de).parse("8.9.2018 09:42:55")));
+  }
+
+  @Test
+  void testAmPmStrings () {
+    International i18n = new International(":", "/", "MDY", false, "vorm.", "nachm.");
+    DateTimeFormatter dtf = XHodgePodge.getFormatter(i18n);
+    assertEquals(LocalDateTime.of(2018, 10, 9, 23, 10, 9), LocalDateTime.from(dtf.parse("10/9/2018 11:10:09 nachm.")));
+    assertEquals(LocalDateTime.of(2018, 10, 9, 11, 10, 9), LocalDateTime.from(dtf.parse("10/9/2018 11:10:09 vorm.")));
+  }
+
 }
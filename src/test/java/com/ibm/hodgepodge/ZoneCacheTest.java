@@ -0,0 +1,76 @@
+package com.ibm.hodgepodge;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ZoneCacheTest {
+
+  @Test
+  void testRoundTrip () {
+    for (String id : ZoneId.getAvailableZoneIds()) {
+      ZoneId zid = ZoneId.of(id);
+      TimeZone tz = ZoneCache.toTimeZone(zid);
+      Assertions.assertEquals(TimeZone.getTimeZone(zid), tz);
+      Assertions.assertNotSame(tz, ZoneCache.toTimeZone(zid));
+      Assertions.assertEquals(tz.toZoneId(), ZoneCache.toZoneId(tz));
+      Assertions.assertEquals(zid.getRules(), ZoneCache.getRules(zid));
+    }
+  }
+
+  @Test
+  void testGetTimeZone () {
+    Assertions.assertEquals(TimeZone.getTimeZone("America/Chicago"), ZoneCache.getTimeZone("America/Chicago"));
+    Assertions.assertEquals(ZoneCache.getTimeZone("Asia/Kolkata"), ZoneCache.getTimeZone("Asia/Kolkata"));
+    Assertions.assertEquals("GMT", ZoneCache.getTimeZone("No/Such_Zone").getID());
+  }
+
+  @Test
+  void testModifiedZonesNotShared () {
+    ZoneId paris = ZoneId.of("Europe/Paris");
+    ZonedDateTime noon = ZonedDateTime.of(2018, 10, 9, 12, 0, 0, 0, paris);
+    ZoneCache.toTimeZone(paris).setRawOffset(5 * 3600000);
+    ZoneCache.getTimeZone("Europe/Paris").setRawOffset(5 * 3600000);
+    HodgePodge.toCalendar(noon).getTimeZone().setRawOffset(5 * 3600000);
+    Calendar target = new GregorianCalendar();
+    HodgePodge.toCalendar(noon, target).getTimeZone().setRawOffset(5 * 3600000);
+    Assertions.assertEquals(TimeZone.getTimeZone(paris), ZoneCache.toTimeZone(paris));
+    Assertions.assertEquals(TimeZone.getTimeZone(paris), ZoneCache.getTimeZone("Europe/Paris"));
+    Assertions.assertEquals(12, HodgePodge.toCalendar(noon).get(Calendar.HOUR_OF_DAY));
+    // The target's own zone was modified, so it gets a fresh one
+    Assertions.assertEquals(12, HodgePodge.toCalendar(noon, target).get(Calendar.HOUR_OF_DAY));
+  }
+
+  @Test
+  void testCustomZoneNotCached () {
+    // Same ID as a real zone, but different rules
+    TimeZone custom = new SimpleTimeZone(3 * 3600000, "America/Chicago");
+    Assertions.assertEquals(ZoneId.of("America/Chicago"), ZoneCache.toZoneId(TimeZone.getTimeZone("America/Chicago")));
+    Assertions.assertEquals(custom.toZoneId(), ZoneCache.toZoneId(custom));
+    Assertions.assertEquals(ZoneOffset.ofHours(3), ZoneCache.getRules(ZoneOffset.ofHours(3)).getOffset(java.time.Instant.EPOCH));
+  }
+
+  @Test
+  void testSystemDefault () {
+    TimeZone saved = TimeZone.getDefault();
+    try {
+      TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+      Assertions.assertEquals(ZoneId.of("Asia/Kolkata"), ZoneCache.getSystemDefault());
+      Assertions.assertSame(ZoneCache.getSystemDefault(), ZoneCache.getSystemDefault());
+      // Changes are seen without clearing the cache
+      TimeZone.setDefault(TimeZone.getTimeZone("America/St_Johns"));
+      Assertions.assertEquals(ZoneId.of("America/St_Johns"), ZoneCache.getSystemDefault());
+    } finally {
+      TimeZone.setDefault(saved);
+    }
+    Assertions.assertEquals(ZoneId.systemDefault(), ZoneCache.getSystemDefault());
+  }
+
+}
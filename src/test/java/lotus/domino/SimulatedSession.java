@@ -0,0 +1,538 @@
+package lotus.domino;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An in-process stand-in for a Domino Session and the DateTimes and
+ * DateRanges it creates, for testing and benchmarking XHodgePodge without a
+ * server.
+ *
+ * The objects are dynamic proxies for the real interfaces, so only the
+ * methods XHodgePodge uses are simulated: getZoneTime, getGMTTime,
+ * getLocalTime, toJavaDate, the set methods and so on for DateTimes, and
+ * createDateTime, createDateRange, getInternational and recycle for the
+ * Session. Anything else throws UnsupportedOperationException.
+ *
+ * Every call on a simulated object is counted by "Interface.method" name, so
+ * tests can check how many round trips a conversion makes, and each call can
+ * be made to wait for a configurable latency, to stand in for the cost of a
+ * DIIOP round trip. hashCode, equals, toString and getParent are neither
+ * counted nor delayed, since the real classes answer them locally too.
+ *
+ * Dates and times are formatted using the International settings given to
+ * the constructor, and time zones are shown with the abbreviations Notes
+ * uses, such as EST or ZE5B. DateTimes keep times to the hundredth of a
+ * second, like Notes does. A DateTime with a wildcarded time converts to
+ * midnight of its date in toJavaDate, and one with a wildcarded date to that
+ * time on 1970-01-01.
+ *
+ * Safe to use from multiple threads.
+ */
+public class SimulatedSession {
+
+  private static final Object[] NO_ARGS = {};
+
+  // Notes' abbreviations for standard and daylight saving time in some zones
+  private static final Map<String, String[]> ABBREVIATIONS = new HashMap<>();
+  static {
+    ABBREVIATIONS.put("America/New_York", new String[] { "EST", "EDT" });
+    ABBREVIATIONS.put("America/Chicago", new String[] { "CST", "CDT" });
+    ABBREVIATIONS.put("America/Denver", new String[] { "MST", "MDT" });
+    ABBREVIATIONS.put("America/Phoenix", new String[] { "MST", "MDT" });
+    ABBREVIATIONS.put("America/Los_Angeles", new String[] { "PST", "PDT" });
+    ABBREVIATIONS.put("America/Halifax", new String[] { "AST", "ADT" });
+    ABBREVIATIONS.put("America/St_Johns", new String[] { "NST", "NDT" });
+    ABBREVIATIONS.put("Europe/London", new String[] { "GMT", "GDT" });
+    ABBREVIATIONS.put("Europe/Paris", new String[] { "CET", "CEDT" });
+    ABBREVIATIONS.put("Europe/Berlin", new String[] { "CET", "CEDT" });
+    ABBREVIATIONS.put("Europe/Amsterdam", new String[] { "CET", "CEDT" });
+  }
+
+  private final International international;
+  private final ZoneId localZone;
+  private final Session session;
+
+  private final ConcurrentHashMap<String, LongAdder> calls = new ConcurrentHashMap<>();
+  private final LongAdder created = new LongAdder();
+  private final LongAdder recycled = new LongAdder();
+  private volatile long latencyNanos;
+
+  // Parses the text accepted by createDateTime(String)
+  private final Pattern datePattern;
+  private final Pattern timePattern;
+
+  /**
+   * Creates a simulated Session.
+   * @param international the International settings the Session reports
+   * @param localZone the time zone of the simulated client or server
+   */
+  public SimulatedSession(final International international, final ZoneId localZone) {
+    this.international = international;
+    this.localZone = localZone;
+    this.session = this.proxy(Session.class, new SessionHandler());
+    String ds = Pattern.quote(international.getDateSep());
+    this.datePattern = Pattern.compile("(\\d+)" + ds + "(\\d+)" + ds + "(\\d+)");
+    String ts = Pattern.quote(international.getTimeSep());
+    this.timePattern = Pattern.compile("(\\d+)" + ts + "(\\d+)(?:" + ts + "(\\d+)(?:[.,](\\d{1,2}))?)?"
+        + "(?:\\s*(" + Pattern.quote(international.getAMString()) + "|"
+        + Pattern.quote(international.getPMString()) + "))?");
+  }
+
+  /**
+   * Returns the simulated Session.
+   * @return
+   */
+  public Session getSession() {
+    return this.session;
+  }
+
+  /**
+   * Returns the time zone of the simulated client or server, which is used
+   * by getLocalTime and for DateTimes created from Dates.
+   * @return
+   */
+  public ZoneId getLocalZone() {
+    return this.localZone;
+  }
+
+  /**
+   * Makes each call on a simulated object wait for the specified time before
+   * returning.
+   * @param latency the time to wait, or Duration.ZERO for none
+   */
+  public void setLatency(final Duration latency) {
+    this.latencyNanos = latency.toNanos();
+  }
+
+  /**
+   * Returns the total number of calls made on simulated objects.
+   * @return
+   */
+  public long getCalls() {
+    long total = 0;
+    for (LongAdder count : this.calls.values()) {
+      total += count.sum();
+    }
+    return total;
+  }
+
+  /**
+   * Returns the number of calls made to a method, for example
+   * "DateTime.getGMTTime" or "Session.createDateTime".
+   * @param name the interface and method name
+   * @return
+   */
+  public long getCalls(final String name) {
+    LongAdder count = this.calls.get(name);
+    return count == null ? 0 : count.sum();
+  }
+
+  /**
+   * Returns the number of calls made to each method, sorted by name.
+   * @return
+   */
+  public Map<String, Long> getCallCounts() {
+    Map<String, Long> out = new TreeMap<>();
+    this.calls.forEach((name, count) -> out.put(name, count.sum()));
+    return out;
+  }
+
+  /**
+   * Sets all the call counts back to zero.
+   */
+  public void resetCalls() {
+    this.calls.clear();
+  }
+
+  /**
+   * Returns the number of DateTimes and DateRanges which have been created
+   * but not yet recycled.
+   * @return
+   */
+  public long getLiveObjects() {
+    return this.created.sum() - this.recycled.sum();
+  }
+
+  /**
+   * Creates a simulated DateTime directly, without a call on the Session, for
+   * setting up test data.
+   * @param zdt the date, time and zone
+   * @return
+   */
+  public DateTime newDateTime(final ZonedDateTime zdt) {
+    DateTimeHandler h = new DateTimeHandler();
+    h.set(zdt);
+    return this.proxy(DateTime.class, h);
+  }
+
+  private <T> T proxy(final Class<T> cls, final Handler handler) {
+    if (!(handler instanceof SessionHandler)) {
+      this.created.increment();
+    }
+    return cls.cast(Proxy.newProxyInstance(cls.getClassLoader(), new Class<?>[] { cls }, handler));
+  }
+
+  private void call(final String name) {
+    this.calls.computeIfAbsent(name, k -> new LongAdder()).increment();
+    long nanos = this.latencyNanos;
+    if (nanos > 0) {
+      long deadline = System.nanoTime() + nanos;
+      long left;
+      while ((left = deadline - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(left);
+      }
+    }
+  }
+
+  private static Handler handler(final Object o) {
+    if (o != null && Proxy.isProxyClass(o.getClass())) {
+      InvocationHandler h = Proxy.getInvocationHandler(o);
+      if (h instanceof Handler) {
+        return (Handler) h;
+      }
+    }
+    throw new IllegalArgumentException("Not a simulated object: " + o);
+  }
+
+  // Counts and delays calls, and handles the Object methods locally
+  private abstract class Handler implements InvocationHandler {
+    private final String type;
+    private boolean isRecycled;
+
+    Handler(final String type) {
+      this.type = type;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      String name = method.getName();
+      switch (name) {
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "equals":
+          return proxy == args[0];
+        case "toString":
+          return this.type + "@" + Integer.toHexString(System.identityHashCode(proxy));
+        default:
+          break;
+      }
+      if (!name.equals("getParent")) {
+        SimulatedSession.this.call(this.type + "." + name);
+      }
+      synchronized (this) {
+        if (this.isRecycled) {
+          throw new NotesException();
+        }
+        if (name.equals("recycle") && (args == null || args.length == 0)) {
+          this.recycle();
+          return null;
+        }
+        return this.handle(name, args == null ? NO_ARGS : args);
+      }
+    }
+
+    synchronized void recycle() {
+      if (!this.isRecycled) {
+        this.isRecycled = true;
+        SimulatedSession.this.recycled.increment();
+      }
+    }
+
+    abstract Object handle(String name, Object[] args);
+  }
+
+  private final class SessionHandler extends Handler {
+
+    SessionHandler() {
+      super("Session");
+    }
+
+    @Override
+    void recycle() {
+      // The Session stays usable, so that tests can carry on
+    }
+
+    @Override
+    Object handle(final String name, final Object[] args) {
+      switch (name) {
+        case "getInternational":
+          return SimulatedSession.this.international;
+        case "isOnServer":
+          return false;
+        case "createDateTime":
+          return this.createDateTime(args[0]);
+        case "createDateRange":
+          RangeHandler r = new RangeHandler();
+          if (args.length == 2) {
+            r.start = args[0] instanceof Date ? this.createDateTime(args[0]) : (DateTime) args[0];
+            r.end = args[1] instanceof Date ? this.createDateTime(args[1]) : (DateTime) args[1];
+          }
+          return SimulatedSession.this.proxy(DateRange.class, r);
+        case "recycle":
+          // recycle(Vector) recycles everything in one call
+          for (Object o : (Vector<?>) args[0]) {
+            handler(o).recycle();
+          }
+          return null;
+        default:
+          throw new UnsupportedOperationException("Session." + name);
+      }
+    }
+
+    private DateTime createDateTime(final Object value) {
+      DateTimeHandler h = new DateTimeHandler();
+      h.setLocalTime(value);
+      return SimulatedSession.this.proxy(DateTime.class, h);
+    }
+  }
+
+  private final class RangeHandler extends Handler {
+    DateTime start;
+    DateTime end;
+
+    RangeHandler() {
+      super("DateRange");
+    }
+
+    @Override
+    Object handle(final String name, final Object[] args) {
+      switch (name) {
+        case "getStartDateTime":
+          return this.start;
+        case "getEndDateTime":
+          return this.end;
+        case "setStartDateTime":
+          this.start = (DateTime) args[0];
+          return null;
+        case "setEndDateTime":
+          this.end = (DateTime) args[0];
+          return null;
+        case "getParent":
+          return SimulatedSession.this.session;
+        default:
+          throw new UnsupportedOperationException("DateRange." + name);
+      }
+    }
+  }
+
+  private final class DateTimeHandler extends Handler {
+    // A null date or time means it's wildcarded
+    LocalDate date;
+    LocalTime time;
+    ZoneId zone;
+
+    DateTimeHandler() {
+      super("DateTime");
+    }
+
+    void set(final ZonedDateTime zdt) {
+      this.date = zdt.toLocalDate();
+      // Notes keeps hundredths of a second
+      this.time = zdt.toLocalTime().withNano(zdt.getNano() / 10000000 * 10000000);
+      this.zone = zdt.getZone();
+    }
+
+    void setLocalTime(final Object value) {
+      SimulatedSession sim = SimulatedSession.this;
+      if (value instanceof Date) {
+        this.set(Instant.ofEpochMilli(((Date) value).getTime()).atZone(sim.localZone));
+      } else if (value instanceof Calendar) {
+        Calendar cal = (Calendar) value;
+        this.set(Instant.ofEpochMilli(cal.getTimeInMillis()).atZone(cal.getTimeZone().toZoneId()));
+      } else {
+        this.parse((String) value);
+      }
+    }
+
+    private void parse(final String text) {
+      SimulatedSession sim = SimulatedSession.this;
+      String s = text.trim();
+      LocalDate d = null;
+      LocalTime t = null;
+      Matcher m = sim.datePattern.matcher(s);
+      if (m.lookingAt()) {
+        int a = Integer.parseInt(m.group(1));
+        int b = Integer.parseInt(m.group(2));
+        int c = Integer.parseInt(m.group(3));
+        try {
+          d = sim.international.isDateYMD() ? LocalDate.of(a, b, c)
+              : sim.international.isDateDMY() ? LocalDate.of(c, b, a) : LocalDate.of(c, a, b);
+        } catch (RuntimeException ex) {
+          throw new NotesException();
+        }
+        s = s.substring(m.end()).trim();
+      }
+      m = sim.timePattern.matcher(s);
+      if (m.lookingAt()) {
+        int h = Integer.parseInt(m.group(1));
+        if (m.group(5) != null) {
+          h = h % 12 + (m.group(5).equals(sim.international.getPMString()) ? 12 : 0);
+        }
+        int sec = m.group(3) == null ? 0 : Integer.parseInt(m.group(3));
+        int hs = m.group(4) == null ? 0 : Integer.parseInt((m.group(4) + "0").substring(0, 2));
+        try {
+          t = LocalTime.of(h, Integer.parseInt(m.group(2)), sec, hs * 10000000);
+        } catch (RuntimeException ex) {
+          throw new NotesException();
+        }
+        s = s.substring(m.end()).trim();
+      }
+      // Anything left over should be a zone abbreviation, which is ignored
+      if ((d == null && t == null) || s.indexOf(' ') >= 0) {
+        throw new NotesException();
+      }
+      this.date = d;
+      this.time = t;
+      this.zone = sim.localZone;
+    }
+
+    private ZonedDateTime zoned() {
+      LocalDate d = this.date == null ? LocalDate.of(1970, 1, 1) : this.date;
+      LocalTime t = this.time == null ? LocalTime.MIDNIGHT : this.time;
+      return ZonedDateTime.of(LocalDateTime.of(d, t), this.zone);
+    }
+
+    // Formats the date and time in a zone, with the zone's abbreviation
+    private String text(final ZoneId z) {
+      if (this.date == null || this.time == null) {
+        return this.date == null ? formatTime(this.time) : formatDate(this.date);
+      }
+      ZonedDateTime zdt = this.zoned().withZoneSameInstant(z);
+      return formatDate(zdt.toLocalDate()) + " " + formatTime(zdt.toLocalTime()) + " " + abbreviation(zdt);
+    }
+
+    @Override
+    Object handle(final String name, final Object[] args) {
+      switch (name) {
+        case "getZoneTime":
+          return this.text(this.zone);
+        case "getGMTTime":
+          return this.text(ZoneOffset.UTC);
+        case "getLocalTime":
+          return this.text(SimulatedSession.this.localZone);
+        case "getDateOnly":
+          return this.date == null ? "" : formatDate(this.date);
+        case "getTimeOnly":
+          return this.time == null ? "" : formatTime(this.time);
+        case "toJavaDate":
+          return Date.from(this.zoned().toInstant());
+        case "getParent":
+          return SimulatedSession.this.session;
+        case "getTimeZone":
+          // Notes counts hours west of UTC
+          return -this.zone.getRules().getStandardOffset(this.zoned().toInstant()).getTotalSeconds() / 3600;
+        case "isDST":
+          return this.zone.getRules().isDaylightSavings(this.zoned().toInstant());
+        case "setAnyDate":
+          this.date = null;
+          return null;
+        case "setAnyTime":
+          this.time = null;
+          return null;
+        case "setNow":
+          this.set(ZonedDateTime.now(SimulatedSession.this.localZone));
+          return null;
+        case "setLocalTime":
+          if (args.length == 4) {
+            this.time = LocalTime.of((Integer) args[0], (Integer) args[1], (Integer) args[2],
+                (Integer) args[3] * 10000000);
+          } else {
+            this.setLocalTime(args[0]);
+          }
+          return null;
+        case "setLocalDate":
+          this.date = LocalDate.of((Integer) args[0], (Integer) args[1], (Integer) args[2]);
+          return null;
+        case "convertToZone":
+          int seconds = -(Integer) args[0] * 3600 + ((Boolean) args[1] ? 3600 : 0);
+          this.set(this.zoned().withZoneSameInstant(ZoneOffset.ofTotalSeconds(seconds)));
+          return null;
+        case "timeDifference":
+          return (int) (this.difference(args[0]) / 1000);
+        case "timeDifferenceDouble":
+          return this.difference(args[0]) / 1000.0;
+        default:
+          throw new UnsupportedOperationException("DateTime." + name);
+      }
+    }
+
+    private long difference(final Object other) {
+      DateTimeHandler h = (DateTimeHandler) handler(other);
+      synchronized (h) {
+        return this.zoned().toInstant().toEpochMilli() - h.zoned().toInstant().toEpochMilli();
+      }
+    }
+  }
+
+  private String formatDate(final LocalDate d) {
+    String sep = this.international.getDateSep();
+    String y = String.format("%04d", d.getYear());
+    String m = String.format("%02d", d.getMonthValue());
+    String dd = String.format("%02d", d.getDayOfMonth());
+    if (this.international.isDateYMD()) {
+      return y + sep + m + sep + dd;
+    }
+    if (this.international.isDateDMY()) {
+      return dd + sep + m + sep + y;
+    }
+    return m + sep + dd + sep + y;
+  }
+
+  private String formatTime(final LocalTime t) {
+    String sep = this.international.getTimeSep();
+    int h = t.getHour();
+    String suffix = "";
+    if (!this.international.isTime24Hour()) {
+      suffix = " " + (h < 12 ? this.international.getAMString() : this.international.getPMString());
+      h = h % 12 == 0 ? 12 : h % 12;
+    }
+    return String.format("%02d%s%02d%s%02d", h, sep, t.getMinute(), sep, t.getSecond()) + suffix;
+  }
+
+  /**
+   * Returns the abbreviation Notes shows for a zone at a particular time,
+   * such as EST or CEDT. Zones without their own abbreviations are shown as
+   * their offset, as ZE (east) or ZW (west) followed by the hours, with B
+   * for a half hour and C for three quarters, so +05:30 is ZE5B.
+   * @param zdt the date, time and zone
+   * @return
+   */
+  public static String abbreviation(final ZonedDateTime zdt) {
+    ZoneRules rules = zdt.getZone().getRules();
+    Instant ins = zdt.toInstant();
+    String[] names = ABBREVIATIONS.get(zdt.getZone().getId());
+    if (names != null) {
+      return names[rules.isDaylightSavings(ins) ? 1 : 0];
+    }
+    int seconds = zdt.getOffset().getTotalSeconds();
+    if (seconds == 0) {
+      return "GMT";
+    }
+    int minutes = Math.abs(seconds) / 60;
+    int quarter = minutes % 60 / 15;
+    return (seconds > 0 ? "ZE" : "ZW") + minutes / 60 + (quarter == 2 ? "B" : quarter == 3 ? "C" : "");
+  }
+
+}